@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Small timing harness shared by the benchmarks of this package.
+ * Every benchmark runs a number of warmup iterations that are thrown away (so the JIT has compiled the
+ * code being measured) and then a number of measured iterations, and the median time is reported.
+ * A fresh state is created before every iteration and its creation is not timed.
+ *
+ * Results that the JIT could otherwise drop as unused should be passed to consume.
+ */
+public class BenchmarkRunner {
+
+	// Sink for benchmark results so the JIT can't remove the work that produced them
+	private static volatile long blackhole;
+
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Keeps value alive so the computation that produced it is not optimized away.
+	 * @param value - result of the benchmarked code
+	 */
+	public static void consume(long value) {
+		blackhole ^= value;
+	}
+
+	/**
+	 * Times operation on a fresh state created by setup before every iteration.
+	 * @param warmup - number of iterations that are run but not measured
+	 * @param iterations - number of measured iterations
+	 * @param setup - creates the state of one iteration (not timed)
+	 * @param operation - the code being measured
+	 * @return (double) median time of the measured iterations in milliseconds
+	 */
+	public static <T> double measure(int warmup, int iterations, Supplier<T> setup, Consumer<T> operation) {
+		for (int i = 0; i < warmup; i++) {
+			operation.accept(setup.get());
+		}
+		long[] times = new long[iterations];
+		for (int i = 0; i < iterations; i++) {
+			T state = setup.get();
+			long start = System.nanoTime();
+			operation.accept(state);
+			times[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(times);
+		return times[iterations / 2] / 1_000_000.0;
+	}
+
+	/**
+	 * Times operation when it doesn't need a fresh state every iteration.
+	 * @return (double) median time of the measured iterations in milliseconds
+	 */
+	public static double measure(int warmup, int iterations, Runnable operation) {
+		return measure(warmup, iterations, () -> null, state -> operation.run());
+	}
+
+	/**
+	 * Prints one result line: benchmark name, its parameters and the median time.
+	 */
+	public static void report(String name, String parameters, double millis) {
+		System.out.printf("%-40s %-36s %12.3f ms%n", name, parameters, millis);
+	}
+}
@@ -0,0 +1,132 @@
+package benchmarks;
+
+import java.util.function.Supplier;
+
+import data_structures.ArrayList;
+import data_structures.ArrayRingQueue;
+import data_structures.ArrayStack;
+import data_structures.BasicHashFunction;
+import data_structures.DoublyLinkedList;
+import data_structures.HashTableOA;
+import data_structures.HashTableSC;
+import data_structures.IntObjectMap;
+import data_structures.LinkedStack;
+import data_structures.ListQueue;
+import data_structures.SinglyLinkedList;
+import interfaces.List;
+import interfaces.Map;
+import interfaces.Queue;
+import interfaces.Stack;
+
+/**
+ * Benchmarks the basic operations of the data structures, each next to the alternative it could be
+ * swapped for, with the access patterns the factory uses:
+ * -Lists: append, iterate and remove from the front (inventory lists)
+ * -Maps: put and get by part id (catalog, inventory, defective, requested parts)
+ * -Queues: rotating a full queue (conveyor belts and timers)
+ * -Stacks: push everything and then pop everything (production bin)
+ *
+ * Run with: java -cp bin benchmarks.DataStructureBenchmark [sizes...]
+ */
+public class DataStructureBenchmark {
+
+	private static final int WARMUP = 5;
+	private static final int ITERATIONS = 10;
+
+	public static void main(String[] args) {
+		int[] sizes = {1_000, 10_000};
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++)
+				sizes[i] = Integer.parseInt(args[i]);
+		}
+		for (int size : sizes) {
+			String parameters = "n=" + size;
+			benchmarkList("ArrayList", ArrayList::new, size, parameters);
+			benchmarkList("SinglyLinkedList", SinglyLinkedList::new, size, parameters);
+			benchmarkList("DoublyLinkedList", DoublyLinkedList::new, size, parameters);
+			benchmarkMap("HashTableSC", () -> new HashTableSC<Integer, Integer>(16, new BasicHashFunction()), size, parameters);
+			benchmarkMap("HashTableOA", () -> new HashTableOA<Integer, Integer>(16, new BasicHashFunction()), size, parameters);
+			benchmarkMap("IntObjectMap", () -> new IntObjectMap<Integer>(16), size, parameters);
+			benchmarkQueue("ListQueue", ListQueue::new, size, parameters);
+			benchmarkQueue("ArrayRingQueue", ArrayRingQueue::new, size, parameters);
+			benchmarkStack("LinkedStack", LinkedStack::new, size, parameters);
+			benchmarkStack("ArrayStack", ArrayStack::new, size, parameters);
+		}
+	}
+
+	private static void benchmarkList(String name, Supplier<List<Integer>> factory, int size, String parameters) {
+		BenchmarkRunner.report(name + ".add", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, factory, list -> {
+			for (int i = 0; i < size; i++)
+				list.add(i);
+			BenchmarkRunner.consume(list.size());
+		}));
+		Supplier<List<Integer>> filled = () -> {
+			List<Integer> list = factory.get();
+			for (int i = 0; i < size; i++)
+				list.add(i);
+			return list;
+		};
+		BenchmarkRunner.report(name + ".iterate", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, filled, list -> {
+			long sum = 0;
+			for (Integer value : list)
+				sum += value;
+			BenchmarkRunner.consume(sum);
+		}));
+		BenchmarkRunner.report(name + ".removeFront", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, filled, list -> {
+			while (!list.isEmpty())
+				list.remove(0);
+			BenchmarkRunner.consume(list.size());
+		}));
+		BenchmarkRunner.report(name + ".removeFirst", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, filled, list -> {
+			list.removeFirst(list.size());
+			BenchmarkRunner.consume(list.size());
+		}));
+	}
+
+	private static void benchmarkMap(String name, Supplier<Map<Integer, Integer>> factory, int size, String parameters) {
+		BenchmarkRunner.report(name + ".put", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, factory, map -> {
+			for (int i = 0; i < size; i++)
+				map.put(i, i);
+			BenchmarkRunner.consume(map.size());
+		}));
+		Supplier<Map<Integer, Integer>> filled = () -> {
+			Map<Integer, Integer> map = factory.get();
+			for (int i = 0; i < size; i++)
+				map.put(i, i);
+			return map;
+		};
+		BenchmarkRunner.report(name + ".get", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, filled, map -> {
+			long sum = 0;
+			for (int i = 0; i < size; i++)
+				sum += map.get(i);
+			BenchmarkRunner.consume(sum);
+		}));
+	}
+
+	private static void benchmarkQueue(String name, Supplier<Queue<Integer>> factory, int size, String parameters) {
+		// Same pattern as a conveyor belt: a queue of 10 values rotated once per operation
+		Supplier<Queue<Integer>> belt = () -> {
+			Queue<Integer> queue = factory.get();
+			for (int i = 0; i < 10; i++)
+				queue.enqueue(i);
+			return queue;
+		};
+		BenchmarkRunner.report(name + ".rotate", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, belt, queue -> {
+			for (int i = 0; i < size; i++)
+				queue.enqueue(queue.dequeue());
+			BenchmarkRunner.consume(queue.front());
+		}));
+	}
+
+	private static void benchmarkStack(String name, Supplier<Stack<Integer>> factory, int size, String parameters) {
+		BenchmarkRunner.report(name + ".pushPop", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS, factory, stack -> {
+			for (int i = 0; i < size; i++)
+				stack.push(i);
+			long sum = 0;
+			while (!stack.isEmpty())
+				sum += stack.pop();
+			BenchmarkRunner.consume(sum);
+		}));
+	}
+}
@@ -0,0 +1,135 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import main.CarPartFactory;
+
+/**
+ * End to end benchmark of CarPartFactory. It generates parts and orders files with the requested number of
+ * machines and orders, and times runFactory (production plus processOrders), the other run modes and processOrders by itself
+ * for every combination of machines, orders and days.
+ * The modes that run the machines on several threads are timed with and without pooling, since with pooling all the
+ * machines take their parts from the same CarPartPool.
+ *
+ * Run with: java -cp bin benchmarks.FactoryBenchmark [minutesPerDay]
+ */
+public class FactoryBenchmark {
+
+	private static final int WARMUP = 3;
+	private static final int ITERATIONS = 5;
+
+	private static final int[] MACHINES = {20, 200};
+	private static final int[] ORDERS = {100, 10_000};
+	private static final int[] DAYS = {1, 7};
+
+	public static void main(String[] args) throws IOException {
+		int minutes = args.length > 0 ? Integer.parseInt(args[0]) : 480;
+		ThreadFactory machineThreads = machineThreadFactory();
+		for (int machines : MACHINES) {
+			File parts = writeParts(machines);
+			for (int orders : ORDERS) {
+				File orderFile = writeOrders(orders, machines);
+				for (int days : DAYS) {
+					String parameters = "machines=" + machines + " orders=" + orders + " days=" + days;
+					BenchmarkRunner.report("runFactory", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS,
+							() -> newFactory(orderFile, parts),
+							factory -> factory.runFactory(days, minutes)));
+					for (boolean pooling : new boolean[] {false, true}) {
+						String suffix = pooling ? " pooled" : "";
+						BenchmarkRunner.report("runFactoryConcurrent" + suffix, parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS,
+								() -> newFactory(orderFile, parts, pooling),
+								factory -> factory.runFactoryConcurrent(days, minutes, Runtime.getRuntime().availableProcessors())));
+						BenchmarkRunner.report("runFactoryParallel" + suffix, parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS,
+								() -> newFactory(orderFile, parts, pooling),
+								factory -> factory.runFactoryParallel(days, minutes, Runtime.getRuntime().availableProcessors())));
+						BenchmarkRunner.report("runFactoryThreadPerMachine" + suffix, parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS,
+								() -> newFactory(orderFile, parts, pooling),
+								factory -> factory.runFactoryThreadPerMachine(days, minutes, machineThreads)));
+					}
+					BenchmarkRunner.report("processOrders", parameters, BenchmarkRunner.measure(WARMUP, ITERATIONS,
+							() -> {
+								CarPartFactory factory = newFactory(orderFile, parts);
+								// Only production, so the timed call is the first pass over the orders
+								factory.runProduction(days, minutes);
+								return factory;
+							},
+							CarPartFactory::processOrders));
+				}
+				orderFile.delete();
+			}
+			parts.delete();
+		}
+	}
+
+	private static CarPartFactory newFactory(File orders, File parts) {
+		return newFactory(orders, parts, false);
+	}
+
+	private static CarPartFactory newFactory(File orders, File parts, boolean pooling) {
+		try {
+			CarPartFactory factory = new CarPartFactory(orders.getPath(), parts.getPath());
+			factory.setPooling(pooling);
+			return factory;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Virtual thread factory when the benchmark runs on Java 21 or later, the default platform one otherwise.
+	 * It is looked up by reflection since the project itself targets an older release.
+	 */
+	private static ThreadFactory machineThreadFactory() {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			ThreadFactory factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+			System.out.println("runFactoryThreadPerMachine uses virtual threads");
+			return factory;
+		} catch (ReflectiveOperationException e) {
+			System.out.println("runFactoryThreadPerMachine uses platform threads");
+			return Executors.defaultThreadFactory();
+		}
+	}
+
+	/**
+	 * Writes a parts file with one machine per part, with periods between 1 and 10 minutes.
+	 */
+	private static File writeParts(int machines) throws IOException {
+		File file = File.createTempFile("parts", ".csv");
+		try (PrintWriter out = new PrintWriter(file)) {
+			out.println("ID,PartName,Weight,WeightError,Period,ChanceOfDefective");
+			for (int id = 1; id <= machines; id++) {
+				out.println(id + ",Part " + id + "," + (10 + id % 90) + ",0.5," + (1 + id % 10) + "," + (5 + id % 7));
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Writes an orders file where every order asks for 1 to 3 random parts, always with the same seed.
+	 */
+	private static File writeOrders(int orders, int machines) throws IOException {
+		Random random = new Random(42);
+		File file = File.createTempFile("orders", ".csv");
+		try (PrintWriter out = new PrintWriter(file)) {
+			out.println("ID,Customer,RequestedParts");
+			for (int id = 1; id <= orders; id++) {
+				int lines = 1 + random.nextInt(3);
+				String requested = "";
+				for (int line = 0; line < lines; line++) {
+					if (line > 0) requested += "-";
+					// Same part id on two lines would just overwrite the quantity, which is fine here
+					requested += "(" + (1 + random.nextInt(machines)) + " " + (1 + random.nextInt(10)) + ")";
+				}
+				out.println(id + ",Customer " + id + "," + requested);
+			}
+		}
+		return file;
+	}
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import data_structures.ListQueue;
+import data_structures.MPSCQueue;
+import interfaces.Queue;
+
+/**
+ * Contention benchmark for the part hand-off between machine threads and the thread that stores parts.
+ * Several producer threads enqueue as fast as they can while a single consumer takes the values out.
+ * It compares MPSCQueue against a ListQueue guarded by one lock (what we would need otherwise)
+ * and prints how many values per microsecond go through each one for a growing number of producers.
+ */
+public class MPSCQueueBenchmark {
+
+	// Values every producer adds per round
+	private static final int VALUES_PER_PRODUCER = 1_000_000;
+	// Rounds that are run and thrown away so the JIT compiles everything first
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 5;
+
+	/**
+	 * Queue that makes every ListQueue operation hold the same lock.
+	 */
+	private static class LockedQueue<E> implements Queue<E> {
+		private final Queue<E> queue = new ListQueue<E>();
+		public synchronized int size() { return queue.size(); }
+		public synchronized boolean isEmpty() { return queue.isEmpty(); }
+		public synchronized void clear() { queue.clear(); }
+		public synchronized void enqueue(E obj) { queue.enqueue(obj); }
+		public synchronized E dequeue() { return queue.dequeue(); }
+		public synchronized E front() { return queue.front(); }
+		/**
+		 * Dequeue that returns null instead of throwing when the queue is empty.
+		 */
+		public synchronized E poll() { return queue.isEmpty() ? null : queue.dequeue(); }
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int[] producerCounts = {1, 2, 4, 8};
+		System.out.println("producers\tMPSCQueue (values/us)\tlocked ListQueue (values/us)");
+		for (int producers : producerCounts) {
+			double mpsc = measure(producers, true);
+			double locked = measure(producers, false);
+			System.out.printf("%d\t\t%.2f\t\t\t%.2f%n", producers, mpsc, locked);
+		}
+	}
+
+	/**
+	 * Runs the warmup and measured rounds and returns the best throughput of the measured ones.
+	 */
+	private static double measure(int producers, boolean lockFree) throws InterruptedException {
+		double best = 0;
+		for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+			long nanos = lockFree ? runMPSC(producers) : runLocked(producers);
+			if (round >= WARMUP_ROUNDS)
+				best = Math.max(best, (double) producers * VALUES_PER_PRODUCER / (nanos / 1000.0));
+		}
+		return best;
+	}
+
+	private static Thread[] startProducers(int producers, Queue<Integer> queue) {
+		Integer value = 7;
+		Thread[] threads = new Thread[producers];
+		for (int p = 0; p < producers; p++) {
+			threads[p] = new Thread(() -> {
+				for (int i = 0; i < VALUES_PER_PRODUCER; i++)
+					queue.enqueue(value);
+			});
+		}
+		for (Thread thread : threads)
+			thread.start();
+		return threads;
+	}
+
+	private static long runMPSC(int producers) throws InterruptedException {
+		MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+		long start = System.nanoTime();
+		Thread[] threads = startProducers(producers, queue);
+		long remaining = (long) producers * VALUES_PER_PRODUCER;
+		while (remaining > 0) {
+			if (queue.poll() != null) remaining--;
+			else Thread.onSpinWait();
+		}
+		long elapsed = System.nanoTime() - start;
+		for (Thread thread : threads)
+			thread.join();
+		return elapsed;
+	}
+
+	private static long runLocked(int producers) throws InterruptedException {
+		LockedQueue<Integer> queue = new LockedQueue<Integer>();
+		long start = System.nanoTime();
+		Thread[] threads = startProducers(producers, queue);
+		long remaining = (long) producers * VALUES_PER_PRODUCER;
+		while (remaining > 0) {
+			if (queue.poll() != null) remaining--;
+			else Thread.onSpinWait();
+		}
+		long elapsed = System.nanoTime() - start;
+		for (Thread thread : threads)
+			thread.join();
+		return elapsed;
+	}
+}
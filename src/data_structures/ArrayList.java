@@ -1,5 +1,6 @@
 package data_structures;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
@@ -302,6 +303,59 @@ public class ArrayList<E> implements List<E>{
 			throw new NoSuchElementException();
 		return this.elements[this.size-1];
 	}
+	/**
+	 * Adds every element of list to the end of the array.
+	 * The array is expanded once, before adding, instead of every time it fills up.
+	 * 
+	 * @param list - elements we wish to add, it can be this same list
+	 */
+	@Override
+	public void addAll(List<? extends E> list) {
+		// Read the count first so adding a list to itself stops
+		int count = list.size();
+		if(this.size + count > this.elements.length) {
+			E[] temp = (E[]) new Object[Math.max(this.size + count, this.elements.length * 2)];
+			System.arraycopy(this.elements, 0, temp, 0, this.size);
+			this.elements = temp;
+		}
+		Iterator<? extends E> values = list.iterator();
+		for(int i = 0; i < count; i++)
+			this.elements[size++] = values.next();
+	}
+	
+	/**
+	 * Removes the first count elements of the array.
+	 * 
+	 * @param count - how many elements we want to remove
+	 */
+	@Override
+	public void removeFirst(int count) {
+		if(count < 0 || count > size)
+			throw new IllegalArgumentException("Can't remove " + count + " elements from " + size);
+		removeRange(0, count);
+	}
+	
+	/**
+	 * Removes the values from position fromIndex to toIndex - 1.
+	 * The values after toIndex are shifted to the left with a single System.arraycopy instead of
+	 * one position at a time for every value removed, and the positions left over are emptied.
+	 * 
+	 * @param fromIndex - position of the first element we want to remove
+	 * @param toIndex - position after the last element we want to remove
+	 */
+	@Override
+	public void removeRange(int fromIndex, int toIndex) {
+		// Check bounds
+		if(fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException();
+		// Shift values to the left
+		System.arraycopy(this.elements, toIndex, this.elements, fromIndex, this.size - toIndex);
+		int newSize = this.size - (toIndex - fromIndex);
+		// Null the positions that are not used anymore
+		Arrays.fill(this.elements, newSize, this.size, null);
+		this.size = newSize;
+	}
+	
 	/**
 	 * Returns iterator object for the ArrayList
 	 * 
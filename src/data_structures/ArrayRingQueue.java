@@ -0,0 +1,113 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+
+import interfaces.Queue;
+
+/**
+ * Implements the Queue interface using a circular array.
+ * The front and the end of the Queue move around the array instead of shifting the values, so enqueue and
+ * dequeue are O(1) and don't create any objects. The capacity is always a power of two so moving an index
+ * around the array is just a mask, and it doubles when the array gets full.
+ *
+ * Like ListQueue it accepts null values.
+ *
+ * @param <E>
+ */
+@SuppressWarnings("unchecked")
+public class ArrayRingQueue<E> implements Queue<E> {
+
+	// Will hold the data
+	private E[] elements;
+	// Position of the front of the Queue
+	private int front;
+	// How many values are in the Queue, needed since null is a valid value
+	private int size;
+
+	/**
+	 * Creates an empty queue that can hold 16 values before growing.
+	 */
+	public ArrayRingQueue() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty queue that can hold at least initialCapacity values before growing.
+	 * @param initialCapacity - how many values we expect the queue to hold
+	 */
+	public ArrayRingQueue(int initialCapacity) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		int capacity = 1;
+		while(capacity < initialCapacity)
+			capacity *= 2;
+		this.elements = (E[]) new Object[capacity];
+		this.front = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public void clear() {
+		// Null the occupied positions to help GC
+		for(int i = 0; i < this.size; i++)
+			this.elements[(this.front + i) & (this.elements.length - 1)] = null;
+		this.front = 0;
+		this.size = 0;
+	}
+
+	@Override
+	public void enqueue(E obj) {
+		if(this.size == this.elements.length)
+			reallocate();
+		this.elements[(this.front + this.size) & (this.elements.length - 1)] = obj;
+		this.size++;
+	}
+
+	/**
+	 * Doubles the array, copying the values in order so the front goes back to position 0.
+	 */
+	private void reallocate() {
+		E[] temp = (E[]) new Object[this.elements.length * 2];
+		for(int i = 0; i < this.size; i++)
+			temp[i] = this.elements[(this.front + i) & (this.elements.length - 1)];
+		this.elements = temp;
+		this.front = 0;
+	}
+
+	@Override
+	public E dequeue() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		E oldValue = this.elements[this.front];
+		this.elements[this.front] = null;
+		this.front = (this.front + 1) & (this.elements.length - 1);
+		this.size--;
+		return oldValue;
+	}
+
+	@Override
+	public E front() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		return this.elements[this.front];
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(int i = 0; i < this.size; i++)
+			str += this.elements[(this.front + i) & (this.elements.length - 1)] + " ";
+		return str + "}";
+	}
+
+}
@@ -0,0 +1,117 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import interfaces.Stack;
+
+/**
+ * Implementation of the Stack that stores the values in an array, the top of the Stack is the last
+ * occupied position. Unlike LinkedStack, push doesn't create a node for every value, the array simply
+ * doubles when it is full so pushing is amortized O(1).
+ *
+ * @param <E>
+ */
+@SuppressWarnings("unchecked")
+public class ArrayStack<E> implements Stack<E> {
+
+	// Will hold the data
+	private E[] elements;
+	// How many values are in the Stack, the top is at position size - 1
+	private int size;
+
+	/**
+	 * Creates an empty Stack with an initial capacity of 16.
+	 */
+	public ArrayStack() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty Stack that can hold initialCapacity values before growing.
+	 * @param initialCapacity - the initial length of the array
+	 */
+	public ArrayStack(int initialCapacity) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		this.elements = (E[]) new Object[initialCapacity];
+		this.size = 0;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public E top() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		return this.elements[this.size - 1];
+	}
+
+	@Override
+	public E pop() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		E topValue = this.elements[--this.size];
+		// Help GC
+		this.elements[this.size] = null;
+		return topValue;
+	}
+
+	@Override
+	public void push(E obj) {
+		if(obj == null)
+			throw new IllegalArgumentException();
+		if(this.size == this.elements.length)
+			reallocate();
+		this.elements[this.size++] = obj;
+	}
+
+	/**
+	 * Doubles the length of the array keeping the values in the same positions.
+	 */
+	private void reallocate() {
+		E[] temp = (E[]) new Object[this.elements.length * 2];
+		System.arraycopy(this.elements, 0, temp, 0, this.size);
+		this.elements = temp;
+	}
+
+	/**
+	 * Empties the Stack by nulling the occupied positions from the bottom up, no pop calls needed.
+	 */
+	@Override
+	public void clear() {
+		for(int i = 0; i < this.size; i++)
+			this.elements[i] = null;
+		this.size = 0;
+	}
+
+	/**
+	 * Gives every value to consumer from the top to the bottom, leaving the Stack empty.
+	 * It is the same as popping until empty but reads the array directly.
+	 */
+	@Override
+	public void drainTo(Consumer<? super E> consumer) {
+		while(this.size > 0) {
+			E value = this.elements[--this.size];
+			this.elements[this.size] = null;
+			consumer.accept(value);
+		}
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(int i = this.size - 1; i >= 0; i--)
+			str += this.elements[i] + " ";
+		return str + "}";
+	}
+
+}
@@ -0,0 +1,425 @@
+package data_structures;
+
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import interfaces.Entry;
+import interfaces.HashFunction;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * Thread safe Map that uses separate chaining like HashTableSC, but the table is split into stripes.
+ * Every stripe has its own buckets and its own lock, so threads working on keys of different stripes
+ * never wait for each other and throughput keeps growing as more threads are added, which a single
+ * lock around a HashTableSC would not allow.
+ *
+ * merge and compute update a value while holding the lock of its stripe, so read-modify-write
+ * operations such as counters are atomic: counts.merge(id, 1, Integer::sum)
+ *
+ * Iteration (getKeys, getValues, entryIterator, forEach, toString) is weakly consistent: each stripe is
+ * copied while holding its lock, but other stripes may change before or after they are visited.
+ *
+ * @param <K>
+ * @param <V>
+ */
+@SuppressWarnings("unchecked")
+public class ConcurrentHashTableSC<K, V> implements Map<K, V> {
+
+	private static class BucketNode<K,V> implements Entry<K,V> {
+		private final K key;
+		// Volatile so iterators see the latest value after the stripe lock is released
+		private volatile V value;
+		private BucketNode<K,V> next;
+
+		public BucketNode(K key, V value, BucketNode<K,V> next) {
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+
+		@Override
+		public K getKey() {return key;}
+		@Override
+		public V getValue() {return value;}
+	}
+
+	/**
+	 * Arrays of a generic type can't be created directly, these are the only places where a raw array is cast.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static <K,V> BucketNode<K,V>[] newBuckets(int count) {
+		return new BucketNode[count];
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static <K,V> Stripe<K,V>[] newStripes(int count) {
+		return new Stripe[count];
+	}
+
+	/**
+	 * A stripe is a small chained hash table guarded by its own lock.
+	 * It is the lock itself so no extra object is needed per stripe.
+	 */
+	private static class Stripe<K,V> extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+		private BucketNode<K,V>[] buckets;
+		// Written while holding the lock, volatile so size() can read it without locking
+		private volatile int size;
+
+		public Stripe(int capacity) {
+			this.buckets = newBuckets(capacity);
+			this.size = 0;
+		}
+	}
+
+	// Load factor at which a stripe doubles its buckets
+	private static final double MAX_LOAD_FACTOR = 0.75;
+	// Number of stripes used by the two argument constructor
+	private static final int DEFAULT_CONCURRENCY = 16;
+
+	private Stripe<K,V>[] stripes;
+	// log2 of stripes.length, the bits of the hash used to pick a stripe aren't used again for the bucket
+	private int stripeBits;
+	private HashFunction<K> hashFunction;
+
+	public ConcurrentHashTableSC(int initialCapacity, HashFunction<K> hashFunction) {
+		this(initialCapacity, hashFunction, DEFAULT_CONCURRENCY);
+	}
+
+	/**
+	 * @param initialCapacity - number of entries the table can hold before any stripe grows
+	 * @param hashFunction - function used to pick the stripe and the bucket of a key
+	 * @param concurrencyLevel - how many threads are expected to update the table at the same time,
+	 * the number of stripes is the next power of two
+	 */
+	public ConcurrentHashTableSC(int initialCapacity, HashFunction<K> hashFunction, int concurrencyLevel) {
+		if(initialCapacity < 1) throw new IllegalArgumentException("Size must be at least 1");
+		if(hashFunction == null) throw new IllegalArgumentException("Must provide a hash function");
+		if(concurrencyLevel < 1) throw new IllegalArgumentException("Concurrency level must be at least 1");
+
+		this.stripeBits = 0;
+		while((1 << stripeBits) < concurrencyLevel)
+			stripeBits++;
+		int stripeCount = 1 << stripeBits;
+		int stripeCapacity = 2;
+		while(stripeCapacity * stripeCount * MAX_LOAD_FACTOR < initialCapacity)
+			stripeCapacity *= 2;
+
+		this.stripes = newStripes(stripeCount);
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new Stripe<K,V>(stripeCapacity);
+		}
+		this.hashFunction = hashFunction;
+	}
+
+	private int spread(K key) {
+		int hash = hashFunction.hashCode(key);
+		return hash ^ (hash >>> 16);
+	}
+
+	private Stripe<K,V> stripeFor(int hash) {
+		return stripes[hash & (stripes.length - 1)];
+	}
+
+	private int bucketFor(int hash, int length) {
+		return (hash >>> stripeBits) & (length - 1);
+	}
+
+	/**
+	 * Finds the node of key in stripe. Must be called while holding the lock of stripe.
+	 */
+	private BucketNode<K,V> findNode(Stripe<K,V> stripe, int hash, K key) {
+		BucketNode<K,V> node = stripe.buckets[bucketFor(hash, stripe.buckets.length)];
+		while(node != null && !node.key.equals(key))
+			node = node.next;
+		return node;
+	}
+
+	/**
+	 * Adds a new node to stripe, growing its buckets if needed. Must be called while holding the lock of stripe.
+	 */
+	private void addNode(Stripe<K,V> stripe, int hash, K key, V value) {
+		if(stripe.size + 1 > stripe.buckets.length * MAX_LOAD_FACTOR)
+			rehash(stripe);
+		int target = bucketFor(hash, stripe.buckets.length);
+		stripe.buckets[target] = new BucketNode<K,V>(key, value, stripe.buckets[target]);
+		stripe.size++;
+	}
+
+	/**
+	 * Unlinks the node of key from stripe. Must be called while holding the lock of stripe.
+	 * @return the removed node, null if key wasn't there
+	 */
+	private BucketNode<K,V> removeNode(Stripe<K,V> stripe, int hash, K key) {
+		int target = bucketFor(hash, stripe.buckets.length);
+		BucketNode<K,V> previous = null;
+		BucketNode<K,V> node = stripe.buckets[target];
+		while(node != null && !node.key.equals(key)) {
+			previous = node;
+			node = node.next;
+		}
+		if(node == null) return null;
+		if(previous == null) stripe.buckets[target] = node.next;
+		else previous.next = node.next;
+		node.next = null;
+		stripe.size--;
+		return node;
+	}
+
+	/**
+	 * Doubles the buckets of a single stripe, the nodes are relinked instead of copied.
+	 */
+	private void rehash(Stripe<K,V> stripe) {
+		BucketNode<K,V>[] oldBuckets = stripe.buckets;
+		BucketNode<K,V>[] newBuckets = newBuckets(oldBuckets.length * 2);
+		for (int i = 0; i < oldBuckets.length; i++) {
+			BucketNode<K,V> node = oldBuckets[i];
+			while(node != null) {
+				BucketNode<K,V> next = node.next;
+				int target = bucketFor(spread(node.key), newBuckets.length);
+				node.next = newBuckets[target];
+				newBuckets[target] = node;
+				node = next;
+			}
+		}
+		stripe.buckets = newBuckets;
+	}
+
+	@Override
+	public int size() {
+		int total = 0;
+		for (Stripe<K,V> stripe : stripes) {
+			total += stripe.size;
+		}
+		return total;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public V get(K key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		int hash = spread(key);
+		Stripe<K,V> stripe = stripeFor(hash);
+		stripe.lock();
+		try {
+			BucketNode<K,V> node = findNode(stripe, hash, key);
+			return node == null ? null : node.value;
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	@Override
+	public V put(K key, V value) {
+		if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
+		int hash = spread(key);
+		Stripe<K,V> stripe = stripeFor(hash);
+		stripe.lock();
+		try {
+			BucketNode<K,V> node = findNode(stripe, hash, key);
+			if(node != null) {
+				V oldValue = node.value;
+				node.value = value;
+				return oldValue;
+			}
+			addNode(stripe, hash, key, value);
+			return null;
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	@Override
+	public V remove(K key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		int hash = spread(key);
+		Stripe<K,V> stripe = stripeFor(hash);
+		stripe.lock();
+		try {
+			BucketNode<K,V> node = removeNode(stripe, hash, key);
+			return node == null ? null : node.value;
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	/**
+	 * Atomically combines value with the current value of key.
+	 * If key is not in the table value is added as is, otherwise the new value is
+	 * remapping(current, value). If remapping returns null the key is removed.
+	 * @param key - key to update
+	 * @param value - value to add or to combine with the current one
+	 * @param remapping - function that combines the current value and value
+	 * @return (V) the new value of key, null if it was removed
+	 */
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		if(key == null || value == null || remapping == null) throw new IllegalArgumentException("Invalid parameters");
+		int hash = spread(key);
+		Stripe<K,V> stripe = stripeFor(hash);
+		stripe.lock();
+		try {
+			BucketNode<K,V> node = findNode(stripe, hash, key);
+			if(node == null) {
+				addNode(stripe, hash, key, value);
+				return value;
+			}
+			V newValue = remapping.apply(node.value, value);
+			if(newValue == null) removeNode(stripe, hash, key);
+			else node.value = newValue;
+			return newValue;
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	/**
+	 * Atomically replaces the value of key with remapping(key, current), where current is null
+	 * if key is not in the table. If remapping returns null the key is removed (or not added).
+	 * @param key - key to update
+	 * @param remapping - function that computes the new value
+	 * @return (V) the new value of key, null if there is none
+	 */
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		if(key == null || remapping == null) throw new IllegalArgumentException("Invalid parameters");
+		int hash = spread(key);
+		Stripe<K,V> stripe = stripeFor(hash);
+		stripe.lock();
+		try {
+			BucketNode<K,V> node = findNode(stripe, hash, key);
+			V newValue = remapping.apply(key, node == null ? null : node.value);
+			if(node == null) {
+				if(newValue != null) addNode(stripe, hash, key, newValue);
+			}
+			else if(newValue == null) removeNode(stripe, hash, key);
+			else node.value = newValue;
+			return newValue;
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public void clear() {
+		for (Stripe<K,V> stripe : stripes) {
+			stripe.lock();
+			try {
+				stripe.buckets = newBuckets(stripe.buckets.length);
+				stripe.size = 0;
+			} finally {
+				stripe.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Copies the nodes of a stripe into an array while holding its lock.
+	 * The nodes are shared with the table, only the array is new.
+	 */
+	private BucketNode<K,V>[] snapshot(Stripe<K,V> stripe) {
+		stripe.lock();
+		try {
+			BucketNode<K,V>[] result = newBuckets(stripe.size);
+			int count = 0;
+			for (BucketNode<K,V> bucket : stripe.buckets) {
+				for (BucketNode<K,V> node = bucket; node != null; node = node.next)
+					result[count++] = node;
+			}
+			return result;
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	@Override
+	public List<K> getKeys() {
+		List<K> result = new SinglyLinkedList<>();
+		for (Stripe<K,V> stripe : stripes) {
+			for (BucketNode<K,V> node : snapshot(stripe))
+				result.add(0, node.key);
+		}
+		return result;
+	}
+
+	@Override
+	public List<V> getValues() {
+		List<V> result = new SinglyLinkedList<>();
+		for (Stripe<K,V> stripe : stripes) {
+			for (BucketNode<K,V> node : snapshot(stripe))
+				result.add(0, node.value);
+		}
+		return result;
+	}
+
+	/**
+	 * Walks the stripes one at a time, the entries of each stripe are copied while holding
+	 * its lock so the iterator never holds a lock between calls.
+	 */
+	private class EntryIterator implements Iterator<Entry<K,V>> {
+		private int nextStripe = 0;
+		private BucketNode<K,V>[] current = null;
+		private int position = 0;
+
+		@Override
+		public boolean hasNext() {
+			while(current == null || position == current.length) {
+				if(nextStripe == stripes.length) return false;
+				current = snapshot(stripes[nextStripe++]);
+				position = 0;
+			}
+			return true;
+		}
+
+		@Override
+		public Entry<K,V> next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			return current[position++];
+		}
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> entryIterator() {
+		return new EntryIterator();
+	}
+
+	/**
+	 * Calls action with every entry. action runs without holding any lock, so it may use the table.
+	 */
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		for (Stripe<K,V> stripe : stripes) {
+			for (BucketNode<K,V> node : snapshot(stripe))
+				action.accept(node.key, node.value);
+		}
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		Iterator<Entry<K, V>> entries = this.entryIterator();
+		while (entries.hasNext()) {
+			Entry<K, V> entry = entries.next();
+			str += "(" + entry.getKey() + ", " + entry.getValue() + ") ";
+		}
+		return str + "}";
+	}
+
+	@Override
+	public void print(PrintStream out) {
+		out.println(this);
+	}
+
+}
@@ -252,6 +252,50 @@ public class DoublyLinkedList<E> implements List<E>{
 		return this.trailer.getPrev().getElement();
 	}
 
+	/**
+	 * Adds every element of list before the trailer, in the same order.
+	 * @param list - elements we wish to add, it can be this same list
+	 */
+	@Override
+	public void addAll(List<? extends E> list) {
+		// Read the count first so adding a list to itself stops
+		int count = list.size();
+		Iterator<? extends E> values = list.iterator();
+		for(int i = 0; i < count; i++)
+			add(values.next());
+	}
+	
+	@Override
+	public void removeFirst(int count) {
+		if(count < 0 || count > size)
+			throw new IllegalArgumentException("Can't remove " + count + " elements from " + size);
+		removeRange(0, count);
+	}
+	
+	/**
+	 * Finds the node at fromIndex once, clears the nodes up to toIndex and links
+	 * the nodes around them to each other.
+	 * @param fromIndex - position of the first element we want to remove
+	 * @param toIndex - position after the last element we want to remove
+	 */
+	@Override
+	public void removeRange(int fromIndex, int toIndex) {
+		if(fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException();
+		if(fromIndex == toIndex)
+			return;
+		Node<E> curr = getNode(fromIndex);
+		Node<E> before = curr.getPrev();
+		for(int i = fromIndex; i < toIndex; i++) {
+			Node<E> next = curr.getNext();
+			curr.clear();
+			curr = next;
+		}
+		before.setNext(curr);
+		curr.setPrev(before);
+		size -= toIndex - fromIndex;
+	}
+	
 	@Override
 	public int lastIndex(E obj) {
 		Node<E> temp = trailer.getPrev();
@@ -0,0 +1,267 @@
+package data_structures;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import interfaces.Entry;
+import interfaces.HashFunction;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * Map implementation that uses open addressing with linear probing.
+ * Keys and values live directly in two parallel arrays, so no bucket lists or nodes are created.
+ * The capacity is always a power of two and the table doubles whenever the load factor goes over
+ * MAX_LOAD_FACTOR, which keeps the probe sequences short no matter how many entries are added.
+ *
+ * @param <K>
+ * @param <V>
+ */
+@SuppressWarnings("unchecked")
+public class HashTableOA<K, V> implements Map<K, V> {
+
+	// Load factor at which the table doubles its capacity
+	private static final double MAX_LOAD_FACTOR = 0.75;
+
+	private K[] keys;
+	private V[] values;
+	private int currentSize;
+	// Number of entries the table can hold before it has to grow
+	private int threshold;
+	private HashFunction<K> hashFunction;
+
+	public HashTableOA(int initialCapacity, HashFunction<K> hashFunction) {
+		if(initialCapacity < 1) throw new IllegalArgumentException("Size must be at least 1");
+		if(hashFunction == null) throw new IllegalArgumentException("Must provide a hash function");
+
+		// Pick a capacity big enough to hold initialCapacity entries without growing
+		int capacity = 2;
+		while(capacity * MAX_LOAD_FACTOR < initialCapacity)
+			capacity *= 2;
+		this.currentSize = 0;
+		this.hashFunction = hashFunction;
+		allocate(capacity);
+	}
+
+	/**
+	 * Creates empty key and value arrays of the given capacity (must be a power of two).
+	 * @param capacity - new length of the internal arrays
+	 */
+	private void allocate(int capacity) {
+		this.keys = (K[]) new Object[capacity];
+		this.values = (V[]) new Object[capacity];
+		this.threshold = (int) (capacity * MAX_LOAD_FACTOR);
+	}
+
+	/**
+	 * Home slot of a key. The high bits of the hash are folded into the low ones
+	 * since the mask only keeps the low bits.
+	 * @param key - key we want to place
+	 * @return (int) slot where the probe sequence of key starts
+	 */
+	private int slotFor(K key) {
+		int hash = hashFunction.hashCode(key);
+		return (hash ^ (hash >>> 16)) & (keys.length - 1);
+	}
+
+	/**
+	 * Finds the slot that holds key.
+	 * @param key - key to search for
+	 * @return (int) slot of key or -1 if it is not in the table
+	 */
+	private int findSlot(K key) {
+		int mask = keys.length - 1;
+		for(int i = slotFor(key); keys[i] != null; i = (i + 1) & mask) {
+			if(keys[i].equals(key)) return i;
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return currentSize;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public V get(K key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		int slot = findSlot(key);
+		return slot == -1 ? null : values[slot];
+	}
+
+	/**
+	 * Adds or replaces the value of key. Unlike HashTableSC the probe stops at the first
+	 * empty slot, so a key is looked up and inserted in a single pass.
+	 */
+	@Override
+	public V put(K key, V value) {
+		if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
+		int mask = keys.length - 1;
+		int i = slotFor(key);
+		while(keys[i] != null) {
+			if(keys[i].equals(key)) {
+				V oldValue = values[i];
+				values[i] = value;
+				return oldValue;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		if(++currentSize > threshold)
+			rehash(keys.length * 2);
+		return null;
+	}
+
+	/**
+	 * Moves every entry into new arrays of length newCapacity.
+	 * @param newCapacity - new length of the table, must be a power of two
+	 */
+	private void rehash(int newCapacity) {
+		K[] oldKeys = keys;
+		V[] oldValues = values;
+		allocate(newCapacity);
+		int mask = newCapacity - 1;
+		for(int j = 0; j < oldKeys.length; j++) {
+			if(oldKeys[j] == null) continue;
+			int i = slotFor(oldKeys[j]);
+			while(keys[i] != null)
+				i = (i + 1) & mask;
+			keys[i] = oldKeys[j];
+			values[i] = oldValues[j];
+		}
+	}
+
+	/**
+	 * Removes key from the table. Instead of leaving a tombstone, the entries that come after
+	 * the removed one in the same run are shifted back so every probe sequence stays unbroken.
+	 */
+	@Override
+	public V remove(K key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		int hole = findSlot(key);
+		if(hole == -1) return null;
+		V oldValue = values[hole];
+
+		int mask = keys.length - 1;
+		for(int j = (hole + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			int home = slotFor(keys[j]);
+			// The entry at j may only move back if its home slot is not between the hole and j
+			boolean reachable = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+			if(!reachable) {
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		keys[hole] = null;
+		values[hole] = null;
+		currentSize--;
+		return oldValue;
+	}
+
+	@Override
+	public boolean containsKey(K key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public void clear() {
+		currentSize = 0;
+		Arrays.fill(keys, null);
+		Arrays.fill(values, null);
+	}
+
+	@Override
+	public List<K> getKeys() {
+		List<K> result = new SinglyLinkedList<>();
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != null) result.add(0, keys[i]);
+		}
+		return result;
+	}
+
+	@Override
+	public List<V> getValues() {
+		List<V> result = new SinglyLinkedList<>();
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != null) result.add(0, values[i]);
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> entryIterator() {
+		return new EntryIterator();
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != null) action.accept(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Walks the slots of the table. The entries are not stored as objects, so the iterator
+	 * itself is returned as the Entry of the slot it is currently on.
+	 */
+	private class EntryIterator implements Iterator<Entry<K,V>>, Entry<K,V> {
+		// Slot returned by the last call to next
+		private int current = -1;
+		// Next slot that holds an entry, keys.length when there are no more
+		private int next = advance(0);
+
+		private int advance(int from) {
+			while(from < keys.length && keys[from] == null)
+				from++;
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		@Override
+		public Entry<K,V> next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			current = next;
+			next = advance(next + 1);
+			return this;
+		}
+
+		@Override
+		public K getKey() {
+			return keys[current];
+		}
+
+		@Override
+		public V getValue() {
+			return values[current];
+		}
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != null) str += "(" + keys[i] + ", " + values[i] + ") ";
+		}
+		return str + "}";
+	}
+
+	@Override
+	public void print(PrintStream out) {
+		out.println(this);
+	}
+
+}
@@ -1,7 +1,11 @@
 package data_structures;
 
 import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
+import interfaces.Entry;
 import interfaces.HashFunction;
 import interfaces.List;
 import interfaces.Map;
@@ -9,7 +13,7 @@ import interfaces.Map;
 
 public class HashTableSC<K, V> implements Map<K, V> {
 	
-	private static class BucketNode<K,V>{
+	private static class BucketNode<K,V> implements Entry<K,V> {
 		private K key;
 		private V value;
 		
@@ -18,25 +22,92 @@ public class HashTableSC<K, V> implements Map<K, V> {
 			this.value = value;
 		}
 		
+		@Override
 		public K getKey() {return key;}
+		@Override
 		public V getValue() {return value;}
 		
 	}
+
+	/**
+	 * Walks the buckets that haven't been moved yet (while rehashing) and then the current buckets,
+	 * returning the bucket nodes themselves as the entries.
+	 */
+	private class EntryIterator implements Iterator<Entry<K,V>> {
+		private List<BucketNode<K,V>>[] table;
+		// Position of the next bucket to visit in table
+		private int nextBucket;
+		private Iterator<BucketNode<K,V>> bucketIterator;
+
+		public EntryIterator() {
+			this.table = oldBuckets != null ? oldBuckets : buckets;
+			this.nextBucket = 0;
+			this.bucketIterator = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while(bucketIterator == null || !bucketIterator.hasNext()) {
+				if(nextBucket == table.length) {
+					// Done with the old buckets, continue with the current ones
+					if(table == buckets) return false;
+					table = buckets;
+					nextBucket = 0;
+				}
+				List<BucketNode<K,V>> bucket = table[nextBucket++];
+				bucketIterator = bucket == null || bucket.isEmpty() ? null : bucket.iterator();
+			}
+			return true;
+		}
+
+		@Override
+		public Entry<K,V> next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			return bucketIterator.next();
+		}
+	}
 	
+	// Load factor at which the number of buckets doubles
+	private static final double MAX_LOAD_FACTOR = 0.75;
+	// How many old buckets every operation moves while an incremental rehash is in progress
+	private static final int MIGRATION_STEP = 4;
+
 	private int currentSize;
 	private List<BucketNode<K,V>>[] buckets;
 	private HashFunction<K> hashFunction;
+	// Whether a rehash is spread over the following operations instead of done all at once
+	private boolean incrementalRehash;
+	// Buckets that are still being moved into buckets, null when no rehash is in progress
+	private List<BucketNode<K,V>>[] oldBuckets;
+	// Every old bucket before this position has already been moved
+	private int migrateIndex;
 
 	public HashTableSC(int initialCapacity, HashFunction<K> hashFunction) {
+		this(initialCapacity, hashFunction, false);
+	}
+
+	/**
+	 * Creates a table that doubles its buckets when the load factor goes over MAX_LOAD_FACTOR.
+	 * With incrementalRehash the old and new buckets coexist after the table grows, and every get, put
+	 * and remove moves MIGRATION_STEP old buckets until they are all moved. That way no single operation
+	 * pays for rehashing the whole table.
+	 * @param initialCapacity - number of buckets to start with
+	 * @param hashFunction - function used to pick the bucket of a key
+	 * @param incrementalRehash - true to spread every rehash over the following operations
+	 */
+	public HashTableSC(int initialCapacity, HashFunction<K> hashFunction, boolean incrementalRehash) {
 		if(initialCapacity < 1) throw new IllegalArgumentException("Size must be at least 1");
 		if(hashFunction == null) throw new IllegalArgumentException("Must provide a hash function");
 		
 		this.currentSize = 0;
-		this.buckets = new SinglyLinkedList[initialCapacity];
+		this.buckets = newBuckets(initialCapacity);
 		for (int i = 0; i < initialCapacity; i++) {
 			buckets[i] = new SinglyLinkedList<BucketNode<K,V>>();
 		}
 		this.hashFunction = hashFunction;
+		this.incrementalRehash = incrementalRehash;
+		this.oldBuckets = null;
+		this.migrateIndex = 0;
 	}
 	
 	@Override
@@ -49,11 +120,75 @@ public class HashTableSC<K, V> implements Map<K, V> {
 		return size() == 0;
 	}
 
+	/**
+	 * Returns the bucket where key currently lives. While a rehash is in progress that is the old
+	 * bucket if it hasn't been moved yet, otherwise the bucket in the new table.
+	 * New buckets are created the first time something is added to them so starting a rehash doesn't
+	 * have to create a list for every bucket.
+	 * @param key - key we are looking for
+	 * @param create - whether to create the bucket if it doesn't exist yet
+	 * @return the bucket that key belongs to, null if it doesn't exist and create is false
+	 */
+	private List<BucketNode<K,V>> bucketOf(K key, boolean create) {
+		int hash = hashFunction.hashCode(key);
+		List<BucketNode<K,V>>[] table = buckets;
+		if(oldBuckets != null && hash % oldBuckets.length >= migrateIndex) table = oldBuckets;
+		int targetBucket = hash % table.length;
+		if(table[targetBucket] == null && create)
+			table[targetBucket] = new SinglyLinkedList<BucketNode<K,V>>();
+		return table[targetBucket];
+	}
+
+	/**
+	 * Array of count empty bucket slots. Java can't create an array of a generic type, so this is
+	 * the one place where the raw array is cast.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <K, V> List<BucketNode<K,V>>[] newBuckets(int count) {
+		return new SinglyLinkedList[count];
+	}
+
+	/**
+	 * Doubles the number of buckets. In the default mode every entry is moved right away, with
+	 * incrementalRehash the old buckets are kept and moved a few at a time by migrate.
+	 */
+	private void startRehash() {
+		// A rehash that is still going has to end before a new one starts
+		while(oldBuckets != null) migrate(oldBuckets.length);
+		oldBuckets = buckets;
+		buckets = newBuckets(oldBuckets.length * 2);
+		migrateIndex = 0;
+		if(!incrementalRehash) migrate(oldBuckets.length);
+	}
+
+	/**
+	 * Moves up to count old buckets into the new table. The bucket nodes are reused, only
+	 * the list nodes holding them are new.
+	 * @param count - maximum number of old buckets to move
+	 */
+	private void migrate(int count) {
+		if(oldBuckets == null) return;
+		for (int moved = 0; moved < count && migrateIndex < oldBuckets.length; moved++) {
+			List<BucketNode<K,V>> bucket = oldBuckets[migrateIndex];
+			oldBuckets[migrateIndex] = null;
+			migrateIndex++;
+			if(bucket == null) continue;
+			for (BucketNode<K, V> bucketNode : bucket) {
+				int targetBucket = hashFunction.hashCode(bucketNode.getKey()) % buckets.length;
+				if(buckets[targetBucket] == null)
+					buckets[targetBucket] = new SinglyLinkedList<BucketNode<K,V>>();
+				buckets[targetBucket].add(0, bucketNode);
+			}
+		}
+		if(migrateIndex == oldBuckets.length) oldBuckets = null;
+	}
+
 	@Override
 	public V get(K key) {
 		if(key == null) throw new IllegalArgumentException("Invalid parameter");
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;
-		List<BucketNode<K,V>> bucket = buckets[targetBucket];
+		migrate(MIGRATION_STEP);
+		List<BucketNode<K,V>> bucket = bucketOf(key, false);
+		if(bucket == null) return null;
 		for (BucketNode<K, V> bucketNode : bucket) {
 			if(bucketNode.getKey().equals(key)) return bucketNode.getValue();
 		}
@@ -64,18 +199,19 @@ public class HashTableSC<K, V> implements Map<K, V> {
 	public V put(K key, V value) {
 		if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
 		V oldValue = remove(key);
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;
-		List<BucketNode<K,V>> bucket = buckets[targetBucket];
+		List<BucketNode<K,V>> bucket = bucketOf(key, true);
 		bucket.add(0, new BucketNode<>(key, value));
 		currentSize++;
+		if(currentSize > buckets.length * MAX_LOAD_FACTOR) startRehash();
 		return oldValue;
 	}
 
 	@Override
 	public V remove(K key) {
 		if(key == null) throw new IllegalArgumentException("Invalid parameter");
-		int targetBucket = hashFunction.hashCode(key) % buckets.length;	
-		List<BucketNode<K,V>> bucket = buckets[targetBucket];
+		migrate(MIGRATION_STEP);
+		List<BucketNode<K,V>> bucket = bucketOf(key, false);
+		if(bucket == null) return null;
 		
 		int pos = 0;
 		for (BucketNode<K, V> bucketNode : bucket) {
@@ -97,40 +233,85 @@ public class HashTableSC<K, V> implements Map<K, V> {
 	@Override
 	public void clear() {
 		currentSize = 0;
+		oldBuckets = null;
 		for (List<BucketNode<K, V>> list : buckets) {
-			list.clear();
+			if(list != null) list.clear();
 		}
 	}
 
 	@Override
 	public List<K> getKeys() {
 		List<K> result = new SinglyLinkedList<>();
-		for (int i = 0; i < buckets.length; i++) {
-			for (BucketNode<K,V> BN : buckets[i]) {
+		addKeys(oldBuckets, result);
+		addKeys(buckets, result);
+		return result;
+	}
+
+	/**
+	 * Adds the keys of every bucket in table to result. table may be null or have empty positions.
+	 */
+	private void addKeys(List<BucketNode<K,V>>[] table, List<K> result) {
+		if(table == null) return;
+		for (int i = 0; i < table.length; i++) {
+			if(table[i] == null) continue;
+			for (BucketNode<K,V> BN : table[i]) {
 				result.add(0, BN.getKey());
 			}
 		}
-		
-		return result;
 	}
 
 	@Override
 	public List<V> getValues() {
 		List<V> result = new SinglyLinkedList<>();
-		for (int i = 0; i < buckets.length; i++) {
-			for (BucketNode<K,V> BN : buckets[i]) {
+		addValues(oldBuckets, result);
+		addValues(buckets, result);
+		return result;
+	}
+
+	/**
+	 * Adds the values of every bucket in table to result. table may be null or have empty positions.
+	 */
+	private void addValues(List<BucketNode<K,V>>[] table, List<V> result) {
+		if(table == null) return;
+		for (int i = 0; i < table.length; i++) {
+			if(table[i] == null) continue;
+			for (BucketNode<K,V> BN : table[i]) {
 				result.add(0, BN.getValue());
 			}
 		}
-		
-		return result;
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> entryIterator() {
+		return new EntryIterator();
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		forEach(oldBuckets, action);
+		forEach(buckets, action);
+	}
+
+	/**
+	 * Calls action with every entry of table. table may be null or have empty positions.
+	 */
+	private void forEach(List<BucketNode<K,V>>[] table, BiConsumer<? super K, ? super V> action) {
+		if(table == null) return;
+		for (int i = 0; i < table.length; i++) {
+			if(table[i] == null) continue;
+			for (BucketNode<K,V> BN : table[i]) {
+				action.accept(BN.getKey(), BN.getValue());
+			}
+		}
 	}
 
 	@Override
 	public String toString() {
 		String str = "{ ";
-		for (K key : this.getKeys()) {
-			str += "(" + key + ", " + this.get(key) + ") ";
+		Iterator<Entry<K, V>> entries = this.entryIterator();
+		while (entries.hasNext()) {
+			Entry<K, V> entry = entries.next();
+			str += "(" + entry.getKey() + ", " + entry.getValue() + ") ";
 		}
 		return str + "}";
 	}
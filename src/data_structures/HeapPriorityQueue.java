@@ -0,0 +1,131 @@
+package data_structures;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+import interfaces.PriorityQueue;
+
+/**
+ * Implements the PriorityQueue interface with a binary min heap stored in an array.
+ * The children of position i are at 2i + 1 and 2i + 2, and every value is smaller or equal than its children,
+ * so the smallest value is always at position 0. insert and removeMin are O(log n), min is O(1).
+ * Values that compare equal leave in no particular order, add a tie breaker to the comparator if it matters.
+ *
+ * @param <E>
+ */
+@SuppressWarnings("unchecked")
+public class HeapPriorityQueue<E> implements PriorityQueue<E> {
+
+	private E[] elements;
+	private int size;
+	private final Comparator<? super E> comparator;
+
+	/**
+	 * @param comparator - decides the priority, smaller values leave first
+	 */
+	public HeapPriorityQueue(Comparator<? super E> comparator) {
+		this(16, comparator);
+	}
+
+	/**
+	 * @param initialCapacity - how many values we expect the PriorityQueue to hold
+	 * @param comparator - decides the priority, smaller values leave first
+	 */
+	public HeapPriorityQueue(int initialCapacity, Comparator<? super E> comparator) {
+		if(initialCapacity < 1)
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		if(comparator == null)
+			throw new IllegalArgumentException("Must provide a comparator");
+		this.elements = (E[]) new Object[initialCapacity];
+		this.size = 0;
+		this.comparator = comparator;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public void clear() {
+		// Help GC
+		for(int i = 0; i < this.size; i++)
+			this.elements[i] = null;
+		this.size = 0;
+	}
+
+	/**
+	 * Places obj at the end of the array and moves it up until its parent is not bigger.
+	 */
+	@Override
+	public void insert(E obj) {
+		if(obj == null)
+			throw new IllegalArgumentException("Can't insert null");
+		if(this.size == this.elements.length) {
+			E[] temp = (E[]) new Object[this.elements.length * 2];
+			System.arraycopy(this.elements, 0, temp, 0, this.size);
+			this.elements = temp;
+		}
+		int i = this.size++;
+		while(i > 0) {
+			int parent = (i - 1) >>> 1;
+			if(comparator.compare(obj, this.elements[parent]) >= 0)
+				break;
+			this.elements[i] = this.elements[parent];
+			i = parent;
+		}
+		this.elements[i] = obj;
+	}
+
+	/**
+	 * Takes out the root, puts the last value in its place and moves it down until no child is smaller.
+	 */
+	@Override
+	public E removeMin() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		E result = this.elements[0];
+		E last = this.elements[--this.size];
+		this.elements[this.size] = null;
+		if(this.size > 0) {
+			int i = 0;
+			int half = this.size >>> 1;
+			// Only positions before half have children
+			while(i < half) {
+				int child = 2 * i + 1;
+				if(child + 1 < this.size && comparator.compare(this.elements[child + 1], this.elements[child]) < 0)
+					child++;
+				if(comparator.compare(last, this.elements[child]) <= 0)
+					break;
+				this.elements[i] = this.elements[child];
+				i = child;
+			}
+			this.elements[i] = last;
+		}
+		return result;
+	}
+
+	@Override
+	public E min() {
+		if(this.isEmpty())
+			throw new NoSuchElementException();
+		return this.elements[0];
+	}
+
+	/**
+	 * Values in array order, which is not sorted.
+	 */
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(int i = 0; i < this.size; i++)
+			str += this.elements[i] + " ";
+		return str + "}";
+	}
+
+}
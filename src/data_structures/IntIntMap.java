@@ -0,0 +1,329 @@
+package data_structures;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import interfaces.Entry;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * Map from int keys to int values that stores both directly in primitive arrays.
+ * It uses the same open addressing scheme as HashTableOA (linear probing, power of two capacity,
+ * backward shift deletion), but the int specific methods get(int), put(int, int) and increment(int, int)
+ * never box their arguments, which makes it a good fit for counters that get updated all the time.
+ *
+ * It still implements Map<Integer, Integer> so it can be used anywhere a Map is expected, those methods
+ * box like any other Map would.
+ */
+public class IntIntMap implements Map<Integer, Integer> {
+
+	// Load factor at which the table doubles its capacity
+	private static final double MAX_LOAD_FACTOR = 0.75;
+
+	private int[] keys;
+	private int[] values;
+	// Marks which slots hold an entry, since every int is a valid key
+	private boolean[] used;
+	private int currentSize;
+	// Number of entries the table can hold before it has to grow
+	private int threshold;
+
+	public IntIntMap(int initialCapacity) {
+		if(initialCapacity < 1) throw new IllegalArgumentException("Size must be at least 1");
+		int capacity = 2;
+		while(capacity * MAX_LOAD_FACTOR < initialCapacity)
+			capacity *= 2;
+		this.currentSize = 0;
+		allocate(capacity);
+	}
+
+	/**
+	 * Returns map itself if it already is an IntIntMap, otherwise a copy of it.
+	 * @param map - the map we want to use as an IntIntMap
+	 * @return (IntIntMap) map with the same entries
+	 */
+	public static IntIntMap from(Map<Integer, Integer> map) {
+		if(map instanceof IntIntMap) return (IntIntMap) map;
+		IntIntMap result = new IntIntMap(Math.max(1, map.size()));
+		map.forEach((key, value) -> result.put(key.intValue(), value.intValue()));
+		return result;
+	}
+
+	private void allocate(int capacity) {
+		this.keys = new int[capacity];
+		this.values = new int[capacity];
+		this.used = new boolean[capacity];
+		this.threshold = (int) (capacity * MAX_LOAD_FACTOR);
+	}
+
+	private int slotFor(int key) {
+		return (key ^ (key >>> 16)) & (keys.length - 1);
+	}
+
+	/**
+	 * Finds the slot that holds key.
+	 * @return (int) slot of key or -1 if it is not in the map
+	 */
+	private int findSlot(int key) {
+		int mask = keys.length - 1;
+		for(int i = slotFor(key); used[i]; i = (i + 1) & mask) {
+			if(keys[i] == key) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the slot of key, claiming an empty one for it if it is not in the map yet.
+	 * New slots start with value 0.
+	 * @return (int) slot of key
+	 */
+	private int claimSlot(int key) {
+		int mask = keys.length - 1;
+		int i = slotFor(key);
+		while(used[i]) {
+			if(keys[i] == key) return i;
+			i = (i + 1) & mask;
+		}
+		if(currentSize + 1 > threshold) {
+			rehash(keys.length * 2);
+			return claimSlot(key);
+		}
+		used[i] = true;
+		keys[i] = key;
+		values[i] = 0;
+		currentSize++;
+		return i;
+	}
+
+	private void rehash(int newCapacity) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(newCapacity);
+		int mask = newCapacity - 1;
+		for(int j = 0; j < oldKeys.length; j++) {
+			if(!oldUsed[j]) continue;
+			int i = slotFor(oldKeys[j]);
+			while(used[i])
+				i = (i + 1) & mask;
+			used[i] = true;
+			keys[i] = oldKeys[j];
+			values[i] = oldValues[j];
+		}
+	}
+
+	@Override
+	public int size() {
+		return currentSize;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Returns the value of key without boxing.
+	 * @param key - key to search for
+	 * @return (int) value of key, 0 if the key is not in the map
+	 */
+	public int get(int key) {
+		int slot = findSlot(key);
+		return slot == -1 ? 0 : values[slot];
+	}
+
+	/**
+	 * Sets the value of key without boxing.
+	 * @return (int) previous value of key, 0 if the key was not in the map
+	 */
+	public int put(int key, int value) {
+		int slot = claimSlot(key);
+		int oldValue = values[slot];
+		values[slot] = value;
+		return oldValue;
+	}
+
+	/**
+	 * Adds delta to the value of key. Keys that are not in the map start at 0.
+	 * @param key - key whose value we want to change
+	 * @param delta - amount to add
+	 * @return (int) new value of key
+	 */
+	public int increment(int key, int delta) {
+		int slot = claimSlot(key);
+		values[slot] += delta;
+		return values[slot];
+	}
+
+	public boolean containsKey(int key) {
+		return findSlot(key) != -1;
+	}
+
+	/**
+	 * Removes key from the map.
+	 * @return (int) value of the removed key, 0 if it was not in the map
+	 */
+	public int remove(int key) {
+		int hole = findSlot(key);
+		if(hole == -1) return 0;
+		int oldValue = values[hole];
+
+		int mask = keys.length - 1;
+		for(int j = (hole + 1) & mask; used[j]; j = (j + 1) & mask) {
+			int home = slotFor(keys[j]);
+			// The entry at j may only move back if its home slot is not between the hole and j
+			boolean reachable = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+			if(!reachable) {
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		used[hole] = false;
+		currentSize--;
+		return oldValue;
+	}
+
+	/**
+	 * Returns the first slot at or after from that holds an entry. Together with keyAt and valueAt
+	 * it walks every entry without creating any objects:
+	 * for (int s = map.nextSlot(0); s != -1; s = map.nextSlot(s + 1))
+	 * @param from - slot where the search starts
+	 * @return (int) next used slot or -1 if there are no more entries
+	 */
+	public int nextSlot(int from) {
+		for(int i = from; i < used.length; i++) {
+			if(used[i]) return i;
+		}
+		return -1;
+	}
+
+	public int keyAt(int slot) {
+		return keys[slot];
+	}
+
+	public int valueAt(int slot) {
+		return values[slot];
+	}
+
+	@Override
+	public Integer get(Integer key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		int slot = findSlot(key.intValue());
+		return slot == -1 ? null : values[slot];
+	}
+
+	@Override
+	public Integer put(Integer key, Integer value) {
+		if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
+		boolean existed = containsKey(key.intValue());
+		int oldValue = put(key.intValue(), value.intValue());
+		return existed ? oldValue : null;
+	}
+
+	@Override
+	public Integer remove(Integer key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		if(!containsKey(key.intValue())) return null;
+		return remove(key.intValue());
+	}
+
+	@Override
+	public boolean containsKey(Integer key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		return containsKey(key.intValue());
+	}
+
+	@Override
+	public void clear() {
+		currentSize = 0;
+		Arrays.fill(used, false);
+	}
+
+	@Override
+	public List<Integer> getKeys() {
+		List<Integer> result = new SinglyLinkedList<>();
+		for (int s = nextSlot(0); s != -1; s = nextSlot(s + 1)) {
+			result.add(0, keys[s]);
+		}
+		return result;
+	}
+
+	@Override
+	public List<Integer> getValues() {
+		List<Integer> result = new SinglyLinkedList<>();
+		for (int s = nextSlot(0); s != -1; s = nextSlot(s + 1)) {
+			result.add(0, values[s]);
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<Entry<Integer, Integer>> entryIterator() {
+		return new EntryIterator();
+	}
+
+	/**
+	 * Calls action with every entry. The keys and values get boxed, the slot methods
+	 * (nextSlot, keyAt, valueAt) walk the entries without boxing.
+	 */
+	@Override
+	public void forEach(BiConsumer<? super Integer, ? super Integer> action) {
+		for (int s = nextSlot(0); s != -1; s = nextSlot(s + 1)) {
+			action.accept(keys[s], values[s]);
+		}
+	}
+
+	/**
+	 * Walks the slots of the table. The entries are not stored as objects, so the iterator
+	 * itself is returned as the Entry of the slot it is currently on.
+	 */
+	private class EntryIterator implements Iterator<Entry<Integer,Integer>>, Entry<Integer,Integer> {
+		// Slot returned by the last call to next
+		private int current = -1;
+		// Next slot that holds an entry, -1 when there are no more
+		private int next = nextSlot(0);
+
+		@Override
+		public boolean hasNext() {
+			return next != -1;
+		}
+
+		@Override
+		public Entry<Integer,Integer> next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			current = next;
+			next = nextSlot(next + 1);
+			return this;
+		}
+
+		@Override
+		public Integer getKey() {
+			return keys[current];
+		}
+
+		@Override
+		public Integer getValue() {
+			return values[current];
+		}
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for (int s = nextSlot(0); s != -1; s = nextSlot(s + 1)) {
+			str += "(" + keys[s] + ", " + values[s] + ") ";
+		}
+		return str + "}";
+	}
+
+	@Override
+	public void print(PrintStream out) {
+		out.println(this);
+	}
+
+}
@@ -0,0 +1,277 @@
+package data_structures;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import interfaces.Entry;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * Map from int keys to object values. The keys are stored in an int array so get(int) and put(int, V)
+ * never box the key. It uses the same open addressing scheme as HashTableOA, since values can't be null
+ * an empty slot is simply one whose value is null.
+ *
+ * It still implements Map<Integer, V> so it can be used anywhere a Map is expected.
+ *
+ * @param <V>
+ */
+@SuppressWarnings("unchecked")
+public class IntObjectMap<V> implements Map<Integer, V> {
+
+	// Load factor at which the table doubles its capacity
+	private static final double MAX_LOAD_FACTOR = 0.75;
+
+	private int[] keys;
+	private V[] values;
+	private int currentSize;
+	// Number of entries the table can hold before it has to grow
+	private int threshold;
+
+	public IntObjectMap(int initialCapacity) {
+		if(initialCapacity < 1) throw new IllegalArgumentException("Size must be at least 1");
+		int capacity = 2;
+		while(capacity * MAX_LOAD_FACTOR < initialCapacity)
+			capacity *= 2;
+		this.currentSize = 0;
+		allocate(capacity);
+	}
+
+	/**
+	 * Returns map itself if it already is an IntObjectMap, otherwise a copy of it.
+	 * @param map - the map we want to use as an IntObjectMap
+	 * @return (IntObjectMap) map with the same entries
+	 */
+	public static <V> IntObjectMap<V> from(Map<Integer, V> map) {
+		if(map instanceof IntObjectMap) return (IntObjectMap<V>) map;
+		IntObjectMap<V> result = new IntObjectMap<V>(Math.max(1, map.size()));
+		map.forEach((key, value) -> result.put(key.intValue(), value));
+		return result;
+	}
+
+	private void allocate(int capacity) {
+		this.keys = new int[capacity];
+		this.values = (V[]) new Object[capacity];
+		this.threshold = (int) (capacity * MAX_LOAD_FACTOR);
+	}
+
+	private int slotFor(int key) {
+		return (key ^ (key >>> 16)) & (keys.length - 1);
+	}
+
+	/**
+	 * Finds the slot that holds key.
+	 * @return (int) slot of key or -1 if it is not in the map
+	 */
+	private int findSlot(int key) {
+		int mask = keys.length - 1;
+		for(int i = slotFor(key); values[i] != null; i = (i + 1) & mask) {
+			if(keys[i] == key) return i;
+		}
+		return -1;
+	}
+
+	private void rehash(int newCapacity) {
+		int[] oldKeys = keys;
+		V[] oldValues = values;
+		allocate(newCapacity);
+		int mask = newCapacity - 1;
+		for(int j = 0; j < oldKeys.length; j++) {
+			if(oldValues[j] == null) continue;
+			int i = slotFor(oldKeys[j]);
+			while(values[i] != null)
+				i = (i + 1) & mask;
+			keys[i] = oldKeys[j];
+			values[i] = oldValues[j];
+		}
+	}
+
+	@Override
+	public int size() {
+		return currentSize;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Returns the value of key without boxing it.
+	 * @return (V) value of key, null if the key is not in the map
+	 */
+	public V get(int key) {
+		int slot = findSlot(key);
+		return slot == -1 ? null : values[slot];
+	}
+
+	/**
+	 * Adds or replaces the value of key without boxing it.
+	 * @return (V) previous value of key, null if the key was not in the map
+	 */
+	public V put(int key, V value) {
+		if(value == null) throw new IllegalArgumentException("Invalid parameters");
+		int mask = keys.length - 1;
+		int i = slotFor(key);
+		while(values[i] != null) {
+			if(keys[i] == key) {
+				V oldValue = values[i];
+				values[i] = value;
+				return oldValue;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		if(++currentSize > threshold)
+			rehash(keys.length * 2);
+		return null;
+	}
+
+	public boolean containsKey(int key) {
+		return findSlot(key) != -1;
+	}
+
+	/**
+	 * Removes key from the map.
+	 * @return (V) value of the removed key, null if it was not in the map
+	 */
+	public V remove(int key) {
+		int hole = findSlot(key);
+		if(hole == -1) return null;
+		V oldValue = values[hole];
+
+		int mask = keys.length - 1;
+		for(int j = (hole + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+			int home = slotFor(keys[j]);
+			// The entry at j may only move back if its home slot is not between the hole and j
+			boolean reachable = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+			if(!reachable) {
+				keys[hole] = keys[j];
+				values[hole] = values[j];
+				hole = j;
+			}
+		}
+		values[hole] = null;
+		currentSize--;
+		return oldValue;
+	}
+
+	@Override
+	public V get(Integer key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		return get(key.intValue());
+	}
+
+	@Override
+	public V put(Integer key, V value) {
+		if(key == null || value == null) throw new IllegalArgumentException("Invalid parameters");
+		return put(key.intValue(), value);
+	}
+
+	@Override
+	public V remove(Integer key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		return remove(key.intValue());
+	}
+
+	@Override
+	public boolean containsKey(Integer key) {
+		if(key == null) throw new IllegalArgumentException("Invalid parameter");
+		return containsKey(key.intValue());
+	}
+
+	@Override
+	public void clear() {
+		currentSize = 0;
+		Arrays.fill(values, null);
+	}
+
+	@Override
+	public List<Integer> getKeys() {
+		List<Integer> result = new SinglyLinkedList<>();
+		for (int i = 0; i < keys.length; i++) {
+			if(values[i] != null) result.add(0, keys[i]);
+		}
+		return result;
+	}
+
+	@Override
+	public List<V> getValues() {
+		List<V> result = new SinglyLinkedList<>();
+		for (int i = 0; i < keys.length; i++) {
+			if(values[i] != null) result.add(0, values[i]);
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<Entry<Integer, V>> entryIterator() {
+		return new EntryIterator();
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super Integer, ? super V> action) {
+		for (int i = 0; i < keys.length; i++) {
+			if(values[i] != null) action.accept(keys[i], values[i]);
+		}
+	}
+
+	/**
+	 * Walks the slots of the table. The entries are not stored as objects, so the iterator
+	 * itself is returned as the Entry of the slot it is currently on.
+	 */
+	private class EntryIterator implements Iterator<Entry<Integer,V>>, Entry<Integer,V> {
+		// Slot returned by the last call to next
+		private int current = -1;
+		// Next slot that holds an entry, keys.length when there are no more
+		private int next = advance(0);
+
+		private int advance(int from) {
+			while(from < keys.length && values[from] == null)
+				from++;
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		@Override
+		public Entry<Integer,V> next() {
+			if(!hasNext()) throw new NoSuchElementException();
+			current = next;
+			next = advance(next + 1);
+			return this;
+		}
+
+		@Override
+		public Integer getKey() {
+			return keys[current];
+		}
+
+		@Override
+		public V getValue() {
+			return values[current];
+		}
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for (int i = 0; i < keys.length; i++) {
+			if(values[i] != null) str += "(" + keys[i] + ", " + values[i] + ") ";
+		}
+		return str + "}";
+	}
+
+	@Override
+	public void print(PrintStream out) {
+		out.println(this);
+	}
+
+}
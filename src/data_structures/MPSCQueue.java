@@ -0,0 +1,129 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import interfaces.Queue;
+
+/**
+ * Lock free multi-producer/single-consumer Queue (Dmitry Vyukov's linked MPSC queue).
+ * Any number of threads may call enqueue at the same time, but only one thread may take values out
+ * (dequeue, poll, front, size, isEmpty, clear).
+ *
+ * Producers never wait for each other: enqueue swaps the tail with a single atomic operation and then links the
+ * previous tail to the new node. The consumer works from the head and never touches the tail, so producers and
+ * the consumer don't contend either.
+ *
+ * Unlike ListQueue it doesn't accept null values, poll uses null to say that the queue is empty.
+ *
+ * @param <E>
+ */
+public class MPSCQueue<E> implements Queue<E> {
+
+	/**
+	 * Node with a single piece of data and the node that goes after it.
+	 * next is volatile since it is written by a producer and read by the consumer.
+	 */
+	private static class Node<E> {
+		private E element;
+		private volatile Node<E> next;
+
+		public Node(E element) {
+			this.element = element;
+			this.next = null;
+		}
+	}
+
+	// Dummy node before the front of the Queue, only used by the consumer
+	private Node<E> head;
+	// Last node of the Queue, swapped by the producers
+	private final AtomicReference<Node<E>> tail;
+
+	public MPSCQueue() {
+		Node<E> dummy = new Node<E>(null);
+		this.head = dummy;
+		this.tail = new AtomicReference<Node<E>>(dummy);
+	}
+
+	/**
+	 * Adds obj to the end of the Queue. Safe to call from any number of threads.
+	 */
+	@Override
+	public void enqueue(E obj) {
+		if(obj == null)
+			throw new IllegalArgumentException();
+		Node<E> newNode = new Node<E>(obj);
+		Node<E> previous = tail.getAndSet(newNode);
+		// Until this line runs the consumer sees the queue ending at previous
+		previous.next = newNode;
+	}
+
+	/**
+	 * Removes and returns the front of the Queue. Consumer only.
+	 * @return (E) the front value, or null if the Queue is empty
+	 */
+	public E poll() {
+		Node<E> next = head.next;
+		if(next == null)
+			return null;
+		E value = next.element;
+		// next becomes the new dummy node
+		next.element = null;
+		head.next = null;
+		head = next;
+		return value;
+	}
+
+	@Override
+	public E dequeue() {
+		E value = poll();
+		if(value == null)
+			throw new NoSuchElementException();
+		return value;
+	}
+
+	@Override
+	public E front() {
+		Node<E> next = head.next;
+		if(next == null)
+			throw new NoSuchElementException();
+		return next.element;
+	}
+
+	/**
+	 * Consumer only. A value whose enqueue hasn't finished linking yet may not be seen.
+	 */
+	@Override
+	public boolean isEmpty() {
+		return head.next == null;
+	}
+
+	/**
+	 * Counts the values by walking the Queue, O(n). Consumer only, the result may already be out of
+	 * date if producers are still adding values.
+	 */
+	@Override
+	public int size() {
+		int count = 0;
+		for(Node<E> node = head.next; node != null; node = node.next)
+			count++;
+		return count;
+	}
+
+	/**
+	 * Removes every value currently in the Queue. Consumer only.
+	 */
+	@Override
+	public void clear() {
+		while(poll() != null);
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(Node<E> node = head.next; node != null; node = node.next)
+			str += node.element + " ";
+		return str + "}";
+	}
+
+}
@@ -0,0 +1,112 @@
+package data_structures;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps objects that are no longer used so they can be handed out again instead of creating new ones.
+ * acquire takes a released object if there is one (a hit) and otherwise creates one with the factory (a miss),
+ * so the hit and miss counts show how much allocation the pool saves.
+ * At most maxSize released objects are kept, the rest are left to the garbage collector.
+ *
+ * The methods are synchronized, so objects may be acquired and released from different threads. Threads that
+ * acquire or release many objects should go through their own PoolCache, which moves objects in batches and only
+ * takes the lock once per batch.
+ *
+ * @param <E>
+ */
+public class ObjectPool<E> {
+
+	private final ArrayStack<E> free;
+	private final int maxSize;
+	private final Supplier<? extends E> factory;
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param maxSize - most released objects kept
+	 * @param factory - creates an object when the pool is empty
+	 */
+	public ObjectPool(int maxSize, Supplier<? extends E> factory) {
+		if(maxSize < 0) throw new IllegalArgumentException("Size can't be negative");
+		if(factory == null) throw new IllegalArgumentException("Must provide a factory");
+		this.free = new ArrayStack<E>();
+		this.maxSize = maxSize;
+		this.factory = factory;
+	}
+
+	/**
+	 * Returns a released object, or a new one from the factory if there are none.
+	 * The object still has whatever state it had when it was released.
+	 * @return (E) object to use
+	 */
+	public synchronized E acquire() {
+		if(free.isEmpty()) {
+			misses++;
+			return factory.get();
+		}
+		hits++;
+		return free.pop();
+	}
+
+	/**
+	 * Gives obj back to the pool. It must not be used after this.
+	 * @param obj - object that is no longer used
+	 */
+	public synchronized void release(E obj) {
+		if(obj == null) throw new IllegalArgumentException("Can't release null");
+		if(free.size() < maxSize)
+			free.push(obj);
+	}
+
+	/**
+	 * Moves up to count released objects into into, starting at position 0. If there are none it counts count
+	 * misses, since the caller will create that many objects with create.
+	 * @param into - array that receives the objects
+	 * @param count - most objects to move
+	 * @return (int) number of objects moved, 0 if the pool was empty
+	 */
+	synchronized int acquireBatch(E[] into, int count) {
+		int taken = Math.min(count, free.size());
+		for(int i = 0; i < taken; i++)
+			into[i] = free.pop();
+		if(taken == 0)
+			misses += count;
+		hits += taken;
+		return taken;
+	}
+
+	/**
+	 * Gives back count objects of objs, starting at position 0. The ones that don't fit are left to the garbage collector.
+	 */
+	synchronized void releaseBatch(E[] objs, int count) {
+		for(int i = 0; i < count && free.size() < maxSize; i++)
+			free.push(objs[i]);
+	}
+
+	/**
+	 * New object from the factory, not counted as a miss (acquireBatch already counted it).
+	 */
+	E create() {
+		return factory.get();
+	}
+
+	/**
+	 * @return (int) released objects waiting to be reused
+	 */
+	public synchronized int size() {
+		return free.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "hits " + hits + " misses " + misses + " pooled " + free.size();
+	}
+}
@@ -0,0 +1,172 @@
+package data_structures;
+
+import java.util.BitSet;
+
+/**
+ * Stores car parts column by column instead of as objects: the ids go in int arrays, the weights in
+ * double arrays and whether each part is defective in a BitSet. A part costs 12 bytes and a bit, with no
+ * object header or list node.
+ *
+ * The columns are split in chunks of CHUNK_SIZE parts, so adding never copies the parts already stored.
+ * Parts are kept in the order they were added and are removed from the front (removeFirst), like a Queue.
+ * Chunks that become empty at the front are moved to the back and reused.
+ */
+public class PartColumnStore {
+
+	// Parts per chunk, a power of two so a position is split into chunk and offset with shifts
+	private static final int CHUNK_BITS = 10;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private int[][] ids;
+	private double[][] weights;
+	private BitSet[] defects;
+	// Number of chunks allocated so far
+	private int chunkCount;
+	// Position of the first part inside the first chunk
+	private int head;
+	private int currentSize;
+
+	public PartColumnStore() {
+		this.ids = new int[1][];
+		this.weights = new double[1][];
+		this.defects = new BitSet[1];
+		this.chunkCount = 0;
+		this.head = 0;
+		this.currentSize = 0;
+	}
+
+	public int size() {
+		return currentSize;
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Adds a part to the end of the store.
+	 * @param id - id of the part
+	 * @param weight - weight of the part
+	 * @param defective - whether the part is defective
+	 */
+	public void add(int id, double weight, boolean defective) {
+		int position = head + currentSize;
+		int chunk = position >>> CHUNK_BITS;
+		if(chunk == chunkCount)
+			addChunk();
+		int offset = position & CHUNK_MASK;
+		ids[chunk][offset] = id;
+		weights[chunk][offset] = weight;
+		// A reused chunk may still have the bit of an old part
+		defects[chunk].set(offset, defective);
+		currentSize++;
+	}
+
+	private void addChunk() {
+		if(chunkCount == ids.length) {
+			int newLength = ids.length * 2;
+			int[][] newIds = new int[newLength][];
+			double[][] newWeights = new double[newLength][];
+			BitSet[] newDefects = new BitSet[newLength];
+			System.arraycopy(ids, 0, newIds, 0, chunkCount);
+			System.arraycopy(weights, 0, newWeights, 0, chunkCount);
+			System.arraycopy(defects, 0, newDefects, 0, chunkCount);
+			ids = newIds;
+			weights = newWeights;
+			defects = newDefects;
+		}
+		ids[chunkCount] = new int[CHUNK_SIZE];
+		weights[chunkCount] = new double[CHUNK_SIZE];
+		defects[chunkCount] = new BitSet(CHUNK_SIZE);
+		chunkCount++;
+	}
+
+	private void checkIndex(int index) {
+		if(index < 0 || index >= size())
+			throw new IndexOutOfBoundsException();
+	}
+
+	/**
+	 * @param index - position of the part, 0 is the oldest one
+	 * @return (int) id of the part at index
+	 */
+	public int getId(int index) {
+		checkIndex(index);
+		int position = head + index;
+		return ids[position >>> CHUNK_BITS][position & CHUNK_MASK];
+	}
+
+	/**
+	 * @param index - position of the part, 0 is the oldest one
+	 * @return (double) weight of the part at index
+	 */
+	public double getWeight(int index) {
+		checkIndex(index);
+		int position = head + index;
+		return weights[position >>> CHUNK_BITS][position & CHUNK_MASK];
+	}
+
+	/**
+	 * @param index - position of the part, 0 is the oldest one
+	 * @return (boolean) whether the part at index is defective
+	 */
+	public boolean isDefective(int index) {
+		checkIndex(index);
+		int position = head + index;
+		return defects[position >>> CHUNK_BITS].get(position & CHUNK_MASK);
+	}
+
+	/**
+	 * Removes the count oldest parts. Nothing is copied, the front just moves forward
+	 * and the chunks left behind are moved to the back to be reused.
+	 * @param count - number of parts to remove
+	 */
+	public void removeFirst(int count) {
+		if(count < 0 || count > size())
+			throw new IllegalArgumentException("Can't remove " + count + " parts from " + size());
+		head += count;
+		currentSize -= count;
+		int emptyChunks = head >>> CHUNK_BITS;
+		if(emptyChunks > 0) {
+			rotateChunks(emptyChunks);
+			head &= CHUNK_MASK;
+		}
+	}
+
+	/**
+	 * Moves the first count chunks after the others.
+	 */
+	private void rotateChunks(int count) {
+		int[][] oldIds = new int[count][];
+		double[][] oldWeights = new double[count][];
+		BitSet[] oldDefects = new BitSet[count];
+		System.arraycopy(ids, 0, oldIds, 0, count);
+		System.arraycopy(weights, 0, oldWeights, 0, count);
+		System.arraycopy(defects, 0, oldDefects, 0, count);
+		int kept = chunkCount - count;
+		System.arraycopy(ids, count, ids, 0, kept);
+		System.arraycopy(weights, count, weights, 0, kept);
+		System.arraycopy(defects, count, defects, 0, kept);
+		System.arraycopy(oldIds, 0, ids, kept, count);
+		System.arraycopy(oldWeights, 0, weights, kept, count);
+		System.arraycopy(oldDefects, 0, defects, kept, count);
+	}
+
+	/**
+	 * Removes every part, the chunks are kept to be reused.
+	 */
+	public void clear() {
+		head = 0;
+		currentSize = 0;
+	}
+
+	@Override
+	public String toString() {
+		String str = "{ ";
+		for(int i = 0; i < size(); i++)
+			str += "(" + getId(i) + ", " + getWeight(i) + (isDefective(i) ? ", defective" : "") + ") ";
+		return str + "}";
+	}
+
+}
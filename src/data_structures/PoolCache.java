@@ -0,0 +1,93 @@
+package data_structures;
+
+/**
+ * Objects of an ObjectPool kept by a single thread, so acquiring and releasing them doesn't take the
+ * pool's lock every time.
+ * -acquire takes from the cache, and when it is empty moves a batch of batchSize objects out of the pool
+ * (or creates a batch if the pool is empty too).
+ * -release puts objects in the cache, and once it holds two batches one batch goes back to the pool.
+ * So the lock is taken once per batch, and threads that only acquire (machines) and threads that only release
+ * (the inventory) still pass the objects to each other through the pool.
+ *
+ * Not thread safe, it must not be used by two threads at the same time.
+ *
+ * @param <E>
+ */
+@SuppressWarnings("unchecked")
+public class PoolCache<E> {
+
+	private final ObjectPool<E> pool;
+	private final int batchSize;
+	// Objects held by the cache, used as a stack
+	private final E[] objects;
+	private int size;
+
+	/**
+	 * @param pool - pool the objects come from and go back to
+	 * @param batchSize - objects moved to or from the pool at a time
+	 */
+	public PoolCache(ObjectPool<E> pool, int batchSize) {
+		if(pool == null) throw new IllegalArgumentException("Must provide a pool");
+		if(batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+		this.pool = pool;
+		this.batchSize = batchSize;
+		this.objects = (E[]) new Object[batchSize * 2];
+		this.size = 0;
+	}
+
+	public ObjectPool<E> getPool() {
+		return this.pool;
+	}
+
+	/**
+	 * @return (int) objects held by this cache
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Same as ObjectPool.acquire, but takes the lock of the pool only once every batchSize calls.
+	 * @return (E) object to use, with whatever state it had when it was released
+	 */
+	public E acquire() {
+		if(size == 0) {
+			size = pool.acquireBatch(objects, batchSize);
+			if(size == 0) {
+				for(int i = 0; i < batchSize; i++)
+					objects[i] = pool.create();
+				size = batchSize;
+			}
+		}
+		E obj = objects[--size];
+		objects[size] = null;
+		return obj;
+	}
+
+	/**
+	 * Same as ObjectPool.release, but takes the lock of the pool only once every batchSize calls.
+	 * @param obj - object that is no longer used
+	 */
+	public void release(E obj) {
+		if(obj == null) throw new IllegalArgumentException("Can't release null");
+		if(size == objects.length) {
+			// The oldest batch goes back, the newest stays for the next acquire
+			pool.releaseBatch(objects, batchSize);
+			System.arraycopy(objects, batchSize, objects, 0, batchSize);
+			for(int i = batchSize; i < objects.length; i++)
+				objects[i] = null;
+			size = batchSize;
+		}
+		objects[size++] = obj;
+	}
+
+	/**
+	 * Gives every object held by the cache back to the pool.
+	 */
+	public void flush() {
+		pool.releaseBatch(objects, size);
+		for(int i = 0; i < size; i++)
+			objects[i] = null;
+		size = 0;
+	}
+}
@@ -74,8 +74,18 @@ public class SinglyLinkedList<E> implements List<E>{
 	
 	// Represent the first node in the list
 	private Node<E> head;
+	// Represent the last node in the list, so add doesn't have to search for it
+	private Node<E> tail;
 	// Tracks the current size of the list
 	private int size;
+	// Removed nodes kept to be reused by add, chained through next
+	private Node<E> spareNodes;
+	private int spareCount;
+	// Most spare nodes kept, 0 means removed nodes are not recycled
+	private int maxSpareNodes;
+	// Nodes taken from the spare nodes and nodes created because there were none, only counted while recycling
+	private long nodeHits;
+	private long nodeMisses;
 	
 
 	/**
@@ -83,7 +93,72 @@ public class SinglyLinkedList<E> implements List<E>{
 	 */
 	public SinglyLinkedList() {
 		this.head = null;
+		this.tail = null;
 		this.size = 0;
+		this.spareNodes = null;
+		this.spareCount = 0;
+		this.maxSpareNodes = 0;
+	}
+	
+	/**
+	 * Keeps up to maxSpareNodes removed nodes and reuses them in later adds instead of creating new ones.
+	 * A list that keeps getting values added and removed (like a queue) then stops creating nodes once it is warm.
+	 * 
+	 * @param maxSpareNodes - (int) most nodes kept, 0 turns recycling off
+	 */
+	public void setMaxSpareNodes(int maxSpareNodes) {
+		if(maxSpareNodes < 0)
+			throw new IllegalArgumentException("Can't keep a negative number of nodes");
+		this.maxSpareNodes = maxSpareNodes;
+		while(spareCount > maxSpareNodes) {
+			spareNodes = spareNodes.getNext();
+			spareCount--;
+		}
+	}
+	
+	/**
+	 * @return (long) adds that reused a spare node
+	 */
+	public long getNodeHits() {
+		return this.nodeHits;
+	}
+	
+	/**
+	 * @return (long) adds that had to create a node while recycling was on
+	 */
+	public long getNodeMisses() {
+		return this.nodeMisses;
+	}
+	
+	/**
+	 * Node holding obj, a spare one if there is any.
+	 */
+	private Node<E> newNode(E obj) {
+		if(spareNodes == null) {
+			if(maxSpareNodes > 0)
+				nodeMisses++;
+			return new Node<E>(obj);
+		}
+		Node<E> node = spareNodes;
+		spareNodes = node.getNext();
+		spareCount--;
+		nodeHits++;
+		node.setNext(null);
+		node.setElement(obj);
+		return node;
+	}
+	
+	/**
+	 * Clears a node that was removed from the list and keeps it as a spare if there is room.
+	 */
+	private void recycle(Node<E> node) {
+		// Help gc
+		node.clear();
+		if(spareCount < maxSpareNodes) {
+			node.setNext(spareNodes);
+			spareNodes = node;
+			spareCount++;
+		}
 	}
 	
 
@@ -101,26 +176,22 @@ public class SinglyLinkedList<E> implements List<E>{
 
 	/**
 	 * Adds a new element to the list. In this case we appends a node with the value obj
-	 * to the end of the chain
+	 * to the end of the chain. The last node is kept in tail, so this is O(1).
 	 */
 	@Override
 	public void add(E obj) {
 		// Node to be added. Hold element obj.
-		Node<E> newNode = new Node<E>(obj);
+		Node<E> newNode = newNode(obj);
 		
 		// If list is empty then the new node is now head.
 		if(head == null)
 			head = newNode;
 		else {
-			// Lets search for the last node in the list
-			Node<E> temp = head;
-			while(temp.getNext() != null) {
-				temp = temp.getNext();
-			}
 			// Set the next of the last node to the new node.
-			// We now have a new last node
-			temp.setNext(newNode);
+			tail.setNext(newNode);
 		}
+		// We now have a new last node
+		tail = newNode;
 		this.size++;
 		
 	}
@@ -156,7 +227,7 @@ public class SinglyLinkedList<E> implements List<E>{
 		if(index < 0 || index > size)
 			throw new IndexOutOfBoundsException();
 		// Create the node to be added
-		Node<E> newNode = new Node<E>(obj);
+		Node<E> newNode = newNode(obj);
 		// If index is 0 that means this element will be the new head node
 		if(index == 0) {
 			// The next of this node is the current head
@@ -204,6 +275,9 @@ public class SinglyLinkedList<E> implements List<E>{
 			previousNode.setNext(newNode);
 
 		}
+		// Added at the end, so it is the new last node
+		if(index == size)
+			tail = newNode;
 		this.size++;
 	}
 
@@ -259,8 +333,10 @@ public class SinglyLinkedList<E> implements List<E>{
 			 * Notice this still works if there is only one node. 
 			 */
 			this.head = this.head.getNext();
-			// Help gc
-			holdNode.clear();
+			if(this.head == null)
+				this.tail = null;
+			// Help gc (and keep it if recycling)
+			recycle(holdNode);
 		}
 		else {
 			/*
@@ -285,8 +361,10 @@ public class SinglyLinkedList<E> implements List<E>{
 			Node<E> nodeToRemove = previousNode.getNext();
 			// Update references
 			previousNode.setNext(nodeToRemove.getNext());
-			// Help GC
-			nodeToRemove.clear();
+			if(nodeToRemove == tail)
+				tail = previousNode;
+			// Help GC (and keep it if recycling)
+			recycle(nodeToRemove);
 		}
 		size--;
 		return true;
@@ -358,7 +436,8 @@ public class SinglyLinkedList<E> implements List<E>{
 		while(!isEmpty()) remove(0);
 		// Reset values for empty list
 		size = 0;
-		head = null;		
+		head = null;
+		tail = null;
 	}
 
 	/**
@@ -390,7 +469,9 @@ public class SinglyLinkedList<E> implements List<E>{
 					// Update references
 					previousNode.setNext(currentNode.getNext());
 					currentNode = currentNode.getNext();
-					holdNode.clear();
+					if(holdNode == tail)
+						tail = previousNode;
+					recycle(holdNode);
 					// Need to decrease size as we remove a node
 					size--;
 				}
@@ -453,8 +534,86 @@ public class SinglyLinkedList<E> implements List<E>{
 	public E last() {
 		if(this.isEmpty())
 			throw new NoSuchElementException();
-		return this.get(size-1);
+		return this.tail.getElement();
+	}
+	/**
+	 * Adds a node for every element of list to the end of the chain, starting from tail.
+	 * 
+	 * @param list - elements we wish to add, it can be this same list
+	 */
+	@Override
+	public void addAll(List<? extends E> list) {
+		// Read the count first so adding a list to itself stops
+		int count = list.size();
+		if(count == 0)
+			return;
+		Iterator<? extends E> values = list.iterator();
+		Node<E> last;
+		int added = 0;
+		if(head == null) {
+			head = newNode(values.next());
+			last = head;
+			added++;
+		}
+		else
+			last = tail;
+		for(; added < count; added++) {
+			Node<E> newNode = newNode(values.next());
+			last.setNext(newNode);
+			last = newNode;
+		}
+		tail = last;
+		this.size += count;
+	}
+	
+	/**
+	 * Removes the first count nodes. Each one is unlinked from head directly, without
+	 * searching for it by position like remove(0) does.
+	 * 
+	 * @param count - (int) how many nodes we want to remove
+	 */
+	@Override
+	public void removeFirst(int count) {
+		if(count < 0 || count > size)
+			throw new IllegalArgumentException("Can't remove " + count + " elements from " + size);
+		for(int i = 0; i < count; i++) {
+			Node<E> holdNode = head;
+			head = head.getNext();
+			// Help gc (and keep it if recycling)
+			recycle(holdNode);
+		}
+		if(head == null)
+			tail = null;
+		size -= count;
 	}
+	
+	/**
+	 * Removes the nodes from position fromIndex to toIndex - 1. The node before fromIndex is
+	 * found once and the nodes after it are unlinked one by one.
+	 * 
+	 * @param fromIndex - (int) position of the first node we want to remove
+	 * @param toIndex - (int) position after the last node we want to remove
+	 */
+	@Override
+	public void removeRange(int fromIndex, int toIndex) {
+		if(fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException();
+		if(fromIndex == 0) {
+			removeFirst(toIndex);
+			return;
+		}
+		Node<E> previousNode = getNode(fromIndex - 1);
+		for(int i = fromIndex; i < toIndex; i++) {
+			Node<E> nodeToRemove = previousNode.getNext();
+			previousNode.setNext(nodeToRemove.getNext());
+			recycle(nodeToRemove);
+		}
+		// Removed up to the end, so the node before fromIndex is the last one
+		if(toIndex == size)
+			tail = previousNode;
+		size -= toIndex - fromIndex;
+	}
+	
 	/**
 	 * Returns a String version of the SinglyLinkedList. 
 	 * 
@@ -113,4 +113,25 @@ public interface List<E> extends Iterable<E> {
 	 */
 	public E last();
 	
+	/**
+	 * Adds every element of list to the end of the List, in the same order.
+	 * @param list - the elements we wish to add
+	 */
+	public void addAll(List<? extends E> list);
+	
+	/**
+	 * Removes the first count elements of the List in one go.
+	 * @param count - how many elements we want to remove
+	 * @throws IllegalArgumentException if count is negative or bigger than the size
+	 */
+	public void removeFirst(int count);
+	
+	/**
+	 * Removes the elements from position fromIndex up to, but not including, toIndex in one go.
+	 * @param fromIndex - position of the first element we want to remove
+	 * @param toIndex - position after the last element we want to remove
+	 * @throws IndexOutOfBoundsException if the positions are not valid or fromIndex is bigger than toIndex
+	 */
+	public void removeRange(int fromIndex, int toIndex);
+	
 }
@@ -1,6 +1,9 @@
 package interfaces;
 
 import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
 /**
  * 
  * @author Fernando J Bermudez (bermed28)
@@ -17,4 +20,20 @@ public interface Map<K,V> {
 	public List<K> getKeys();
 	public List<V> getValues();
 	public void print(PrintStream out);
+	/**
+	 * Returns an iterator over the entries of the Map that reads the internal storage directly,
+	 * without building a List first. Implementations may reuse the same Entry object between calls
+	 * to next(): the open addressing maps (HashTableOA, IntIntMap, IntObjectMap) don't store entries as
+	 * objects and return the iterator itself, so an Entry kept after the next call to next() shows the
+	 * new key and value. Copy the key and value out of an Entry that has to outlive the step it came from.
+	 * The Map must not be changed while the iterator is in use.
+	 * @return (Iterator) iterator over every key-value pair
+	 */
+	public Iterator<Entry<K, V>> entryIterator();
+	/**
+	 * Calls action with every key and its value, walking the internal storage directly.
+	 * action must not add or remove keys of this Map.
+	 * @param action - receives each key and value
+	 */
+	public void forEach(BiConsumer<? super K, ? super V> action);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package interfaces;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Collection where values leave by priority instead of by order of arrival.
+ * The priority of a value is given by a Comparator, the smallest value (the one that compares lowest) always leaves first.
+ *
+ * @param <E>
+ */
+public interface PriorityQueue<E> {
+	/**
+	 * Returns how many values are in the PriorityQueue
+	 * @return (int) Number of values in the PriorityQueue
+	 */
+	public int size();
+	/**
+	 * Check whether the PriorityQueue is empty, true if it is, false otherwise
+	 * @return (boolean) whether the PriorityQueue is empty
+	 */
+	public boolean isEmpty();
+	/**
+	 * Removes everything from the PriorityQueue
+	 */
+	public void clear();
+	/**
+	 * Adds a new value to the PriorityQueue.
+	 * @param obj - value to add
+	 */
+	public void insert(E obj);
+	/**
+	 * Removes and returns the smallest value, the one with the highest priority.
+	 * @return (E) Item removed
+	 * @throws NoSuchElementException
+	 */
+	public E removeMin();
+	/**
+	 * Returns the smallest value without removing it.
+	 * @return (E) value with the highest priority
+	 * @throws NoSuchElementException
+	 */
+	public E min();
+}
@@ -1,6 +1,7 @@
 package interfaces;
 
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public interface Stack<E> {
 	/**
@@ -35,5 +36,14 @@ public interface Stack<E> {
 	 * Empties the Stack, by removing everything.
 	 */
 	public void clear();
+	/**
+	 * Removes every item from the Stack, from the top to the bottom, and gives each one to consumer.
+	 * Implementations may override it to avoid a top()/pop() call per item.
+	 * @param consumer - receives the removed items in pop order
+	 */
+	public default void drainTo(Consumer<? super E> consumer) {
+		while(!isEmpty())
+			consumer.accept(pop());
+	}
 
 }
@@ -4,9 +4,9 @@ public class CarPart {
 	
     /**
      * private fields of CarPart class
+     * -the id and name live in the PartType, which is shared by every unit of the same part
      */
-	private int id;
-	private String name;
+	private PartType type;
 	private double weight;
 	private boolean isDefective;
 	
@@ -19,26 +19,54 @@ public class CarPart {
 	 * initialized fields of the CarPart class
 	 */
     public CarPart(int id, String name, double weight, boolean isDefective) {
-        this.id = id;
-        this.name = name;
+        this(new PartType(id, name, weight), weight, isDefective);
+    }
+    
+    /**
+     * Unit of an existing part type, it only stores its own weight and whether it is defective.
+     * @param type - part this is a unit of
+     * @param weight of this unit
+     * @param isDefective
+     */
+    public CarPart(PartType type, double weight, boolean isDefective) {
+        this.type = type;
+        this.weight = weight;
+        this.isDefective = isDefective;
+    }
+    
+    /**
+     * Turns this part into a new unit, used by PartMachine.makePart when it takes a reused part from its pool.
+     */
+    void reset(PartType type, double weight, boolean isDefective) {
+        this.type = type;
         this.weight = weight;
         this.isDefective = isDefective;
     }
     
+    public PartType getType() {
+    	return this.type;
+    }
+    
     public int getId() {
-        return this.id;
+        return this.type.getId();
     }
     
+    /**
+     * PartType is shared and immutable, so this part gets its own copy with the new id.
+     */
     public void setId(int id) {
-        this.id = id;
+        this.type = new PartType(id, this.type.getName(), this.type.getWeight());
     }
     
     public String getName() {
-        return this.name;
+        return this.type.getName();
     }
     
+    /**
+     * PartType is shared and immutable, so this part gets its own copy with the new name.
+     */
     public void setName(String name) {
-        this.name = name;
+        this.type = new PartType(this.type.getId(), name, this.type.getWeight());
     }
     
     public double getWeight() {
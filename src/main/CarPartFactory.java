@@ -3,9 +3,28 @@ package main;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
-import data_structures.HashTableSC;
-import data_structures.LinkedStack;
+import data_structures.ArrayList;
+import data_structures.HashTableOA;
+import data_structures.IntIntMap;
+import data_structures.IntObjectMap;
+import data_structures.MPSCQueue;
+import data_structures.PoolCache;
+import data_structures.ArrayStack;
 import data_structures.SinglyLinkedList;
 import data_structures.BasicHashFunction;
 import interfaces.List;
@@ -20,9 +39,35 @@ public class CarPartFactory {
 	private List<PartMachine> machines;
 	private List<Order> orders;
 	private Map<Integer, CarPart> partCatalog;
-	private Map<Integer, List<CarPart>> inventory;
-	private Map<Integer, Integer> defective;
+	private PartInventory inventory;
+	private InventoryMode inventoryMode = InventoryMode.LISTS;
+	private IntIntMap defective;
 	private Stack<CarPart> productionBin;
+	// Number of bins runFactoryPipelined passes between the machines and the inventory
+	private static final int PIPELINE_BINS = 2;
+	// Orders given to submitOrder that are not in the orders list yet
+	private final MPSCQueue<Order> submittedOrders = new MPSCQueue<Order>();
+	// Part of an order line read by submitOrders that hasn't reached its line terminator yet
+	private final StringBuilder partialOrderLine = new StringBuilder();
+	// Last character read by submitOrders was \r, so a \n right after it ends the same line
+	private boolean skipLineFeed;
+	// Orders compiled for batch feasibility checks, built by the first call to getOrderFeasibility
+	private OrderFeasibility orderFeasibility;
+	// Which orders get the parts first
+	private OrderPriority orderPriority = OrderPriority.ARRIVAL;
+	// Orders waiting for parts, created by the first call to processPendingOrders
+	private PendingOrderIndex pendingOrders;
+	// Orders that take the parts as they are made, created by the first call to reserveOrders
+	private ReservationLedger reservations;
+	// Pool shared by the machines when pooling is on, null otherwise
+	private CarPartPool partPool;
+	// Parts the factory drops go back to partPool through this cache, in batches. The parts are dropped by one
+	// thread at a time in every run mode, so one cache is enough.
+	private PoolCache<CarPart> releasedParts;
+	private static final int RELEASE_BATCH = 64;
+	// Most released parts kept by the pool and most spare nodes kept by each inventory list when pooling is on
+	private static final int POOLED_PARTS = 1 << 16;
+	private static final int SPARE_NODES = 1 << 12;
 
     /**
      *     
@@ -30,18 +75,43 @@ public class CarPartFactory {
      * @param partsPath
      * @throws IOException
      * -initialized machines, orders, partCatalog, and inventory using other methods
-     * -initialized productionBin as a LinkedStack because I wanted it to work as if I'm putting the parts in the 
-     * bin physically and the first one you grab is the last one you put.
+     * -initialized productionBin as a stack because I wanted it to work as if I'm putting the parts in the 
+     * bin physically and the first one you grab is the last one you put. It is an ArrayStack so pushing a part
+     * doesn't create a node and the bin can be drained in one go.
      * -initialized the defective map with all the keys and with the value 0 so that I can later sum the defective parts
+     * -the catalog is a HashTableOA, it grows with the number of entries so lookups stay constant
+     * as the catalog gets bigger. Inventory, defective and the requested parts of each order are keyed by part id
+     * so they use the int keyed maps, which don't box the id or the counts.
      */
     public CarPartFactory(String orderPath, String partsPath) throws IOException {
     	setupOrders(orderPath);
     	setupMachines(partsPath);
     	setupInventory();
-    	productionBin = new LinkedStack<CarPart>();
-    	defective = new HashTableSC<Integer, Integer>(partCatalog.size(), new BasicHashFunction());
-    	for (Integer keys : partCatalog.getKeys()) {
-    		defective.put(keys, 0);
+    	productionBin = new ArrayStack<CarPart>();
+    	defective = new IntIntMap(partCatalog.size());
+    	partCatalog.forEach((id, part) -> defective.put(id.intValue(), 0));
+    }
+    
+    /**
+     * Same as the other constructor, but the weights of the parts made by the machines are reproducible:
+     * runs with the same seed and input files give the same weights, whatever run mode or number of threads is used.
+     * @param seed - seed of the whole factory, see seedMachines
+     */
+    public CarPartFactory(String orderPath, String partsPath, long seed) throws IOException {
+    	this(orderPath, partsPath);
+    	seedMachines(seed);
+    }
+    
+    /**
+     * Gives every machine its own random generator, split in machine order from a SplittableRandom with the given seed.
+     * Every machine only draws from its own stream, so the weights it makes don't depend on what the other machines
+     * do or on the thread it runs on.
+     * @param seed - seed of the whole factory
+     */
+    public void seedMachines(long seed) {
+    	SplittableRandom factoryRandom = new SplittableRandom(seed);
+    	for (PartMachine machine : machines) {
+    		machine.setRandom(factoryRandom.split());
     	}
     }
     
@@ -69,12 +139,84 @@ public class CarPartFactory {
         this.partCatalog = partCatalog;
     }
     
+    /**
+     * The inventory as a map from part id to its parts. With InventoryMode.COLUMNS it is a copy and with
+     * InventoryMode.COUNTS a copy whose parts all have the mean weight of their id, see PartInventory.asMap.
+     */
     public Map<Integer, List<CarPart>> getInventory() {
-    	return this.inventory;
+    	return this.inventory.asMap();
     }
     
+    /**
+     * Replaces the inventory with the given map, which switches the factory to InventoryMode.LISTS.
+     * The map is used directly only if it is an IntObjectMap, any other map is copied into one, so later
+     * changes to it (adding or removing part ids) don't reach the factory. The lists themselves are not copied.
+     */
     public void setInventory(Map<Integer, List<CarPart>> inventory) {
-        this.inventory = inventory;
+        this.inventory = new ListInventory(IntObjectMap.from(inventory));
+        this.inventoryMode = InventoryMode.LISTS;
+    }
+    
+    public PartInventory getPartInventory() {
+    	return this.inventory;
+    }
+    
+    public InventoryMode getInventoryMode() {
+    	return this.inventoryMode;
+    }
+    
+    public CarPartPool getPartPool() {
+    	return this.partPool;
+    }
+    
+    /**
+     * Turns recycling of parts and inventory list nodes on or off. When it is on the machines take their parts
+     * from a CarPartPool and the parts the factory drops go back to it: defective parts once they are counted,
+     * parts removed by processOrders and parts stored by an inventory that doesn't keep them. The lists of
+     * InventoryMode.LISTS also keep their removed nodes for the next parts. Once the pools are warm a run
+     * barely creates any objects, getPartPool and ListInventory give the hits and misses.
+     * -every machine and the factory move parts to and from the shared pool in batches through their own PoolCache,
+     * so machines running on different threads don't wait on the pool for every part.
+     * -parts removed from the inventory are reused, so references to them (for example from getInventory) must
+     * not be kept after processOrders.
+     * -the inventory is set up again empty, so it should be called before running the factory.
+     * @param pooling - true to recycle parts and nodes
+     */
+    public void setPooling(boolean pooling) {
+    	partPool = pooling ? new CarPartPool(POOLED_PARTS) : null;
+    	releasedParts = pooling ? new PoolCache<CarPart>(partPool, RELEASE_BATCH) : null;
+    	for (PartMachine machine : machines) {
+    		machine.setPartPool(partPool);
+    	}
+    	setupInventory();
+    }
+    
+    /**
+     * Gives a part the factory no longer uses back to the pool, if pooling is on.
+     */
+    private void releasePart(CarPart part) {
+    	if (releasedParts != null) {
+    		releasedParts.release(part);
+    	}
+    }
+    
+    /**
+     * Gives the parts still held by the release cache to the pool, so the next run can reuse them and the pool's
+     * counts include them. Called at the end of every run and of processOrders, processPendingOrders and reserveOrders.
+     */
+    private void flushReleasedParts() {
+    	if (releasedParts != null) {
+    		releasedParts.flush();
+    	}
+    }
+    
+    /**
+     * Changes how the inventory is kept. The inventory is set up again empty, so it should be called before running the factory.
+     * @param inventoryMode - new way of keeping the inventory
+     */
+    public void setInventoryMode(InventoryMode inventoryMode) {
+    	this.inventoryMode = inventoryMode;
+    	setupInventory();
     }
     
     public List<Order> getOrders() {
@@ -83,14 +225,21 @@ public class CarPartFactory {
     
     public void setOrders(List<Order> orders) {
         this.orders = orders;
+        this.orderFeasibility = null;
+        this.pendingOrders = null;
+        this.reservations = null;
     }
     
     public Map<Integer, Integer> getDefectives() {
         return this.defective;
     }
     
+    /**
+     * Replaces the defective counts. The map is used directly only if it is an IntIntMap, any other map
+     * is copied into one, so later changes to it don't reach the factory. Use getDefectives to see the counts in use.
+     */
     public void setDefectives(Map<Integer, Integer> defectives) {
-        this.defective = defectives;
+        this.defective = IntIntMap.from(defectives);
     }
 
     /**
@@ -99,33 +248,117 @@ public class CarPartFactory {
      * @throws IOException
      * -initialized orders as a singly linked list because i wanted it to simulate a queue so the most efficient is the 
      * singly linked list because i just need to iterate in order and it does not have to reallocate either.
-     * -used buffered reader to read the path file. divided the lines into each element and then created the orders individually 
+     * -used buffered reader to read the path file. each line is turned into an order by parseOrder 
      */
     public void setupOrders(String path) throws IOException {
         orders = new SinglyLinkedList<Order>();
+        orderFeasibility = null;
+        pendingOrders = null;
+        reservations = null;
         BufferedReader orderReader = new BufferedReader(new FileReader(path));
         String line = orderReader.readLine();
         line = orderReader.readLine();
         while (line!=null) {
-        	String[] divided = line.split(",");
-        	Integer id = Integer.parseInt(divided[0]);
-        	String name = divided[1];
-        	String[] tuples = divided[2].split("-");
-        	Map<Integer, Integer> requested = new HashTableSC<Integer, Integer>(tuples.length, new BasicHashFunction());
-        	for (int i = 0; i< tuples.length;i++) {
-        		 String stripped = tuples[i].substring(1, tuples[i].length()-1);
-        		 String[] div = stripped.split(" ");
-        		 Integer partID = Integer.parseInt(div[0]);
-        		 Integer quantity = Integer.parseInt(div[1]);
-        		 requested.put(partID, quantity);
-        	}
-        	orders.add(new Order(id, name, requested, true));
+        	orders.add(parseOrder(line));
         	line = orderReader.readLine();
         }
         orderReader.close();
         
     }
     
+    /**
+     * 
+     * @param line of an orders file, in the format {id},{customer name},({part id} {quantity})-({part id} {quantity})...
+     * optionally followed by ,{due date} and ,{customer tier}
+     * @return (Order) the order of the line
+     * -divided the line into each element and then created the order with its requested parts
+     * -the order starts as not fulfilled, it is fulfilled once the factory gives it its parts
+     */
+    public static Order parseOrder(String line) {
+    	String[] divided = line.split(",");
+    	Integer id = Integer.parseInt(divided[0]);
+    	String name = divided[1];
+    	String[] tuples = divided[2].split("-");
+    	IntIntMap requested = new IntIntMap(tuples.length);
+    	for (int i = 0; i< tuples.length;i++) {
+    		 String stripped = tuples[i].substring(1, tuples[i].length()-1);
+    		 String[] div = stripped.split(" ");
+    		 int partID = Integer.parseInt(div[0]);
+    		 int quantity = Integer.parseInt(div[1]);
+    		 requested.put(partID, quantity);
+    	}
+    	Order order = new Order(id, name, requested, false);
+    	if (divided.length > 3 && !divided[3].isEmpty()) {
+    		order.setDueDate(Integer.parseInt(divided[3]));
+    	}
+    	if (divided.length > 4 && !divided[4].isEmpty()) {
+    		order.setTier(Integer.parseInt(divided[4]));
+    	}
+    	return order;
+    }
+    
+    /**
+     * Adds an order while the factory runs. It can be called from any thread: the order waits in a queue and
+     * is added to the orders list the next time orders are processed, by processOrders or at the end of a day of
+     * runFactoryIncremental (processPendingOrders), which fulfills it as soon as its parts are there, or of runFactoryReserved
+     * (reserveOrders), which starts giving it parts.
+     * @param order - new order
+     */
+    public void submitOrder(Order order) {
+    	if (order == null) throw new IllegalArgumentException("Order can't be null");
+    	submittedOrders.enqueue(order);
+    }
+    
+    /**
+     * Submits every complete line that reader has right now, in the format of an orders file without the header.
+     * A line only counts once its line terminator (\n, \r or \r\n) has been read. What comes after the last terminator is
+     * kept and completed by the next call, so it can be called again later with the same reader on a file that keeps growing.
+     * The last line of the file must end with a terminator to be submitted.
+     * -it can't be called from several threads at the same time, unlike submitOrder.
+     * @param reader - reader positioned at the start of an order line, or where the previous call stopped
+     * @return (int) number of orders submitted
+     * @throws IOException
+     */
+    public int submitOrders(BufferedReader reader) throws IOException {
+    	int submitted = 0;
+    	char[] chunk = new char[8192];
+    	while (reader.ready()) {
+    		int read = reader.read(chunk, 0, chunk.length);
+    		if (read == -1) break;
+    		for (int i = 0; i < read; i++) {
+    			char c = chunk[i];
+    			if (c == '\n' && skipLineFeed) {
+    				skipLineFeed = false;
+    				continue;
+    			}
+    			skipLineFeed = c == '\r';
+    			if (c != '\n' && c != '\r') {
+    				partialOrderLine.append(c);
+    			}
+    			else if (partialOrderLine.length() > 0) {
+    				String line = partialOrderLine.toString();
+    				partialOrderLine.setLength(0);
+    				submitOrder(parseOrder(line));
+    				submitted++;
+    			}
+    		}
+    	}
+    	return submitted;
+    }
+    
+    /**
+     * Moves the submitted orders to the end of the orders list.
+     * @param sink - also receives every order moved
+     */
+    private void takeSubmittedOrders(Consumer<Order> sink) {
+    	Order order;
+    	while ((order = submittedOrders.poll()) != null) {
+    		orders.add(order);
+    		orderFeasibility = null;
+    		sink.accept(order);
+    	}
+    }
+    
     /**
      * 
      * @param path
@@ -152,7 +385,7 @@ public class CarPartFactory {
     		line = machineReader.readLine();
     	}
     	machineReader.close();
-    	partCatalog = new HashTableSC<Integer, CarPart>(machines.size(), new BasicHashFunction());
+    	partCatalog = new HashTableOA<Integer, CarPart>(machines.size(), new BasicHashFunction());
     	for(PartMachine partMachine : machines) {
     		partCatalog.put(partMachine.getId(), partMachine.getPart());
     	}
@@ -160,69 +393,489 @@ public class CarPartFactory {
     }
     
     /**
-     * -initialized inventory as a map. 
-     * -ran through the machines and added an emtpy list to the value with the part id as the key. 
+     * -initialized inventory with the backend of the inventory mode, lists of CarParts by default, columns or counts. 
+     * -ran through the machines and added the part id of each one to it, which for lists is an emtpy list with the part id as the key. 
      */
     public void setupInventory() {
-        inventory = new HashTableSC<Integer, List<CarPart>>(partCatalog.size(), new BasicHashFunction());
+    	if (inventoryMode == InventoryMode.COLUMNS) {
+    		inventory = new ColumnarInventory(partCatalog);
+    	}
+    	else if (inventoryMode == InventoryMode.COUNTS) {
+    		inventory = new CountingInventory(partCatalog);
+    	}
+    	else {
+    		ListInventory lists = new ListInventory(partCatalog.size());
+    		lists.setMaxSpareNodes(partPool != null ? SPARE_NODES : 0);
+    		inventory = lists;
+    	}
         for (PartMachine partMachine : machines) {
-        	List<CarPart> tempList = new SinglyLinkedList<CarPart>();
-        	inventory.put(partMachine.getId(), tempList);
+        	inventory.addPartType(partMachine.getId());
         }
         
     }
     
     /**
-     * ran a while until the production bin was empty, if the part was not detective it added it to the inventory
-     * if it was the defective count increased by one.
-     * at the end the production bin removed the top. 
+     * drained the production bin from the top, giving every part to storePart.
      */
     public void storeInInventory() {
-    	while (!productionBin.isEmpty()) {
-    		CarPart carPart = productionBin.top();
-    		Integer id = carPart.getId();
-    		if (!carPart.isDefective()) {
-    			inventory.get(id).add(carPart);
+    	storeInInventory(productionBin);
+    }
+    
+    /**
+     * Same as storeInInventory() but for any bin, which is left empty.
+     * @param bin - bin whose parts we want to store
+     */
+    public void storeInInventory(Stack<CarPart> bin) {
+    	bin.drainTo(this::storePart);
+    }
+    
+    /**
+     * if the part was not defective it gave it to the oldest reserved order waiting for it or, if there was none, added it to the inventory
+     * if it was the defective count increased by one (in place, without boxing the count).
+     * parts that are not kept after this go back to the pool.
+     * @param carPart - part taken out of the production bin
+     */
+    private void storePart(CarPart carPart) {
+    	int id = carPart.getId();
+    	if (!carPart.isDefective()) {
+    		if (reservations != null && reservations.allocate(carPart)) {
+    			releasePart(carPart);
+    			return;
+    		}
+    		inventory.add(carPart);
+    		if (pendingOrders != null) {
+    			pendingOrders.partStored(id);
+    		}
+    		if (!inventory.keepsParts()) {
+    			releasePart(carPart);
     		}
-    		else {
-    			defective.put(id, defective.get(id)+1);
-    		} 
-    		productionBin.pop();
     	}
-    	
+    	else {
+    		defective.increment(id, 1);
+    		releasePart(carPart);
+    	}
     }
     
     /**
      * 
      * @param days
      * @param minutes
-     * -ran 3 nested for loops where days is the outer one, the next one is machines and the inner one is minutes
+     * -ran nested for loops where days is the outer one and the next one is machines, the minutes of the day
+     * are produced in one go by runMachineDay
      * -i did this because i wanted to produce all the parts of one machine int the minutes provided before changing machines
      * -since i did this when the minutes loop endedn i could assume that the day was over for that machine so i could emtpy the conveyor
      * belt in that same loop. 
      */
     public void runFactory(int days, int minutes) {
+        runProduction(days, minutes);
+        processOrders();
+    }
+    
+    /**
+     * The production part of runFactory: runs every machine for days and stores the parts, without processing the orders.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     */
+    public void runProduction(int days, int minutes) {
         for (int i = 0; i<days; i++) {
         	for (PartMachine machine : machines) {
-        		for (int j = 0; j < minutes; j++) {
-        			CarPart machinePart = machine.produceCarPart(); 
-        			if (machinePart!=null) {
-        				productionBin.push(machinePart);
-        			}
-        		}
-        		while (!machine.getConveyorBelt().isEmpty()) {
-        			if (machine.getConveyorBelt().front() != null) {
-        				productionBin.push(machine.getConveyorBelt().dequeue());
-        			}
-        			else {
-        			machine.getConveyorBelt().dequeue();
-        			}	
-        		}
-        		machine.resetConveyorBelt();
+        		runMachineDay(machine, minutes, productionBin::push);
         	}
         	storeInInventory();
         }
-        processOrders();
+        flushReleasedParts();
+    }
+    
+    /**
+     * Runs one machine for a whole day and then empties its conveyor belt.
+     * The day is produced with produceBatch, which gives the same parts in the same order as calling
+     * produceCarPart every minute but skips the minutes where the machine doesn't make anything.
+     * @param machine - machine to run
+     * @param minutes - length of the day
+     * @param sink - receives every part that comes off the belt, in the order they come off
+     */
+    private void runMachineDay(PartMachine machine, int minutes, Consumer<CarPart> sink) {
+    	machine.produceBatch(minutes, sink);
+    	emptyConveyorBelt(machine, sink);
+    }
+    
+    /**
+     * Gives every part on the conveyor belt of machine to sink, front first, and resets the belt.
+     */
+    private void emptyConveyorBelt(PartMachine machine, Consumer<CarPart> sink) {
+    	while (!machine.getConveyorBelt().isEmpty()) {
+    		if (machine.getConveyorBelt().front() != null) {
+    			sink.accept(machine.getConveyorBelt().dequeue());
+    		}
+    		else {
+    			machine.getConveyorBelt().dequeue();
+    		}	
+    	}
+    	machine.resetConveyorBelt();
+    }
+    
+    /**
+     * Copies the machines list into an array so they can be accessed by index.
+     */
+    private PartMachine[] machineArray() {
+    	PartMachine[] result = new PartMachine[machines.size()];
+    	int index = 0;
+    	for (PartMachine machine : machines) {
+    		result[index++] = machine;
+    	}
+    	return result;
+    }
+    
+    /**
+     * Same as runFactory, but instead of visiting every machine every minute it only visits a machine
+     * at the minutes where it makes a part. A ProductionScheduler keeps the next production minute of every machine
+     * and the simulation jumps from one to the next, so a day costs time in proportion to the parts made
+     * instead of machines * minutes.
+     * -the parts left on a belt from before are moved to the bin first, since they would come off the belt
+     * before anything made today. After that every part goes straight to the bin when it is made: all of
+     * them reach the bin during the day or when the belt is emptied at the end, so the belt can be skipped.
+     * -at the end of the day the timer of every machine is moved forward by the length of the day.
+     * Every machine makes the same parts (same defects and weights) as with runFactory, only the order
+     * in which parts of different machines reach the bin changes.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     */
+    public void runFactoryEventDriven(int days, int minutes) {
+    	PartMachine[] machineArray = machineArray();
+    	ProductionScheduler scheduler = new ProductionScheduler(machineArray.length);
+    	for (int i = 0; i < days; i++) {
+    		scheduler.clear();
+    		for (int m = 0; m < machineArray.length; m++) {
+    			emptyConveyorBelt(machineArray[m], productionBin::push);
+    			int first = machineArray[m].minutesUntilNextPart();
+    			if (first < minutes) {
+    				scheduler.schedule(first, m);
+    			}
+    		}
+    		while (!scheduler.isEmpty()) {
+    			PartMachine machine = machineArray[scheduler.nextMachine()];
+    			productionBin.push(machine.makePart());
+    			int next = scheduler.nextTime() + machine.getPeriod();
+    			if (next < minutes) {
+    				scheduler.reschedule(next);
+    			}
+    			else {
+    				scheduler.removeNext();
+    			}
+    		}
+    		for (PartMachine machine : machineArray) {
+    			machine.skipMinutes(minutes);
+    		}
+    		storeInInventory();
+    	}
+    	processOrders();
+    }
+    
+    /**
+     * Same as runFactory, but the machines run on a pool of threads. The parts they make are handed to
+     * the calling thread through an MPSCQueue, which takes the place of the production bin: machines never
+     * wait for each other to add a part, and the calling thread stores each part in the inventory as
+     * soon as it arrives instead of waiting for the end of the day.
+     * Each machine produces exactly the same parts as with runFactory, only the order in which
+     * parts of different machines reach the inventory changes.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     * @param threads - number of threads used to run the machines
+     */
+    public void runFactoryConcurrent(int days, int minutes, int threads) {
+    	if (threads < 1) throw new IllegalArgumentException("Must use at least one thread");
+    	MPSCQueue<CarPart> handoff = new MPSCQueue<CarPart>();
+    	ExecutorService pool = Executors.newFixedThreadPool(threads);
+    	try {
+    		for (int i = 0; i < days; i++) {
+    			AtomicInteger running = new AtomicInteger(machines.size());
+    			List<Future<?>> results = new SinglyLinkedList<Future<?>>();
+    			for (PartMachine machine : machines) {
+    				results.add(0, pool.submit(() -> {
+    					try {
+    						runMachineDay(machine, minutes, handoff::enqueue);
+    					} finally {
+    						running.decrementAndGet();
+    					}
+    				}));
+    			}
+    			// Store parts while the machines run, the day ends once all of them are done and the queue is empty
+    			while (true) {
+    				CarPart part = handoff.poll();
+    				if (part != null) {
+    					storePart(part);
+    				}
+    				else if (running.get() == 0 && handoff.isEmpty()) {
+    					break;
+    				}
+    				else {
+    					Thread.yield();
+    				}
+    			}
+    			for (Future<?> result : results) {
+    				result.get();
+    			}
+    		}
+    	} catch (InterruptedException e) {
+    		Thread.currentThread().interrupt();
+    		throw new IllegalStateException("Interrupted while running the factory", e);
+    	} catch (ExecutionException e) {
+    		throw new IllegalStateException("A machine failed while running the factory", e.getCause());
+    	} finally {
+    		pool.shutdownNow();
+    	}
+    	processOrders();
+    }
+    
+    /**
+     * Same as runFactory, but every day the machines are simulated in parallel on a ForkJoinPool.
+     * Each machine writes its parts into its own buffer, so the machines don't share anything while they run.
+     * When all of them are done the buffers are pushed into the production bin in machine order, which is exactly
+     * what runFactory pushes, so the inventory, the defective counts and the report are identical to runFactory.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     * @param parallelism - number of threads of the pool
+     */
+    public void runFactoryParallel(int days, int minutes, int parallelism) {
+    	if (parallelism < 1) throw new IllegalArgumentException("Must use at least one thread");
+    	PartMachine[] machineArray = machineArray();
+    	List<CarPart>[] buffers = newBuffers(machineArray.length);
+    	ForkJoinPool pool = new ForkJoinPool(parallelism);
+    	try {
+    		for (int i = 0; i < days; i++) {
+    			pool.invoke(new MachineDayTask(machineArray, buffers, 0, machineArray.length, minutes));
+    			for (List<CarPart> buffer : buffers) {
+    				for (CarPart part : buffer) {
+    					productionBin.push(part);
+    				}
+    				buffer.clear();
+    			}
+    			storeInInventory();
+    		}
+    	} finally {
+    		pool.shutdownNow();
+    	}
+    	processOrders();
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<CarPart>[] newBuffers(int count) {
+    	List<CarPart>[] buffers = new List[count];
+    	for (int i = 0; i < count; i++) {
+    		buffers[i] = new ArrayList<CarPart>();
+    	}
+    	return buffers;
+    }
+    
+    /**
+     * Runs one day of the machines from (inclusive) to to (exclusive), each into its own buffer.
+     * Ranges bigger than MACHINES_PER_TASK are split in half and the halves run in parallel.
+     */
+    private class MachineDayTask extends RecursiveAction {
+    	private static final long serialVersionUID = 1L;
+    	// Ranges of at most this many machines are run by a single task
+    	private static final int MACHINES_PER_TASK = 4;
+    	
+    	private final PartMachine[] machineArray;
+    	private final List<CarPart>[] buffers;
+    	private final int from;
+    	private final int to;
+    	private final int minutes;
+    	
+    	public MachineDayTask(PartMachine[] machineArray, List<CarPart>[] buffers, int from, int to, int minutes) {
+    		this.machineArray = machineArray;
+    		this.buffers = buffers;
+    		this.from = from;
+    		this.to = to;
+    		this.minutes = minutes;
+    	}
+    	
+    	@Override
+    	protected void compute() {
+    		if (to - from <= MACHINES_PER_TASK) {
+    			for (int m = from; m < to; m++) {
+    				runMachineDay(machineArray[m], minutes, buffers[m]::add);
+    			}
+    		}
+    		else {
+    			int middle = (from + to) >>> 1;
+    			invokeAll(new MachineDayTask(machineArray, buffers, from, middle, minutes),
+    					new MachineDayTask(machineArray, buffers, middle, to, minutes));
+    		}
+    	}
+    }
+    
+    /**
+     * Same as runFactoryThreadPerMachine(days, minutes, threadFactory) with the default platform thread factory.
+     */
+    public void runFactoryThreadPerMachine(int days, int minutes) {
+    	runFactoryThreadPerMachine(days, minutes, Executors.defaultThreadFactory());
+    }
+    
+    /**
+     * Same as runFactory, but every machine runs on its own thread for the whole run instead of being
+     * given to a pool. The threads add their parts to an MPSCQueue that works as a shared production bin,
+     * and wait for each other on a Phaser at the end of every day. The last thread to arrive stores the parts
+     * of that day in the inventory before any of them starts the next day.
+     * -if a machine throws, its thread leaves the Phaser and the others stop at the end of the day they are on,
+     * then the run ends with an IllegalStateException caused by the first failure.
+     * A machine that blocks (for example on simulated downtime) only holds up its own thread.
+     * -threadFactory decides what kind of threads are used. On Java 21 or later, Thread.ofVirtual().factory()
+     * runs every machine on a virtual thread, so thousands of machines don't need thousands of platform threads.
+     * Each machine produces exactly the same parts as with runFactory, only the order in which they reach the
+     * inventory changes: the parts of a day are stored in the order they were made instead of from the top of a bin.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     * @param threadFactory - creates the thread of every machine
+     */
+    public void runFactoryThreadPerMachine(int days, int minutes, ThreadFactory threadFactory) {
+    	PartMachine[] machineArray = machineArray();
+    	if (machineArray.length == 0) {
+    		processOrders();
+    		return;
+    	}
+    	MPSCQueue<CarPart> bin = new MPSCQueue<CarPart>();
+    	AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    	Phaser endOfDay = new Phaser(machineArray.length) {
+    		// Runs in the last thread to arrive, before any thread starts the next day
+    		@Override
+    		protected boolean onAdvance(int phase, int registeredParties) {
+    			// The phase only advances if this returns, so a failure is recorded instead of thrown
+    			try {
+    				CarPart part;
+    				while ((part = bin.poll()) != null) {
+    					storePart(part);
+    				}
+    			} catch (RuntimeException | Error e) {
+    				failure.compareAndSet(null, e);
+    			}
+    			return registeredParties == 0;
+    		}
+    	};
+    	Thread[] threads = new Thread[machineArray.length];
+    	for (int m = 0; m < machineArray.length; m++) {
+    		PartMachine machine = machineArray[m];
+    		threads[m] = threadFactory.newThread(() -> {
+    			try {
+    				// Once a machine fails the others stop at the end of the day they are on
+    				for (int i = 0; i < days && failure.get() == null; i++) {
+    					runMachineDay(machine, minutes, bin::enqueue);
+    					int phase = endOfDay.arrive();
+    					try {
+    						endOfDay.awaitAdvanceInterruptibly(phase);
+    					} catch (InterruptedException e) {
+    						failure.compareAndSet(null, e);
+    						// Still waits for the day to end so it leaves the phaser on the next one
+    						endOfDay.awaitAdvance(phase);
+    						Thread.currentThread().interrupt();
+    					}
+    				}
+    			} catch (RuntimeException | Error e) {
+    				failure.compareAndSet(null, e);
+    			}
+    			// The other machines stop waiting for this one, so none of them can be left waiting forever
+    			endOfDay.arriveAndDeregister();
+    		});
+    		threads[m].start();
+    	}
+    	try {
+    		for (Thread thread : threads) {
+    			thread.join();
+    		}
+    	} catch (InterruptedException e) {
+    		for (Thread thread : threads) {
+    			thread.interrupt();
+    		}
+    		Thread.currentThread().interrupt();
+    		throw new IllegalStateException("Interrupted while running the factory", e);
+    	}
+    	if (failure.get() != null) {
+    		throw new IllegalStateException("A machine failed while running the factory", failure.get());
+    	}
+    	processOrders();
+    }
+    
+    /**
+     * Waits for thread to end even if the calling thread is interrupted meanwhile, and keeps the interrupt.
+     */
+    private static void joinUninterruptibly(Thread thread) {
+    	boolean interrupted = false;
+    	while (true) {
+    		try {
+    			thread.join();
+    			break;
+    		} catch (InterruptedException e) {
+    			interrupted = true;
+    		}
+    	}
+    	if (interrupted) {
+    		Thread.currentThread().interrupt();
+    	}
+    }
+    
+    /**
+     * Same as runFactory, but storing the parts of a day overlaps with producing the next one.
+     * The calling thread runs the machines, and when a day is done it hands its bin to a second thread that
+     * stores it in the inventory while the machines already work on the next day.
+     * -there are only PIPELINE_BINS bins, and a bin goes back to the machines once it has been stored, so the machines
+     * can be at most PIPELINE_BINS - 1 days ahead of the inventory and no new bin is made per day.
+     * -each bin holds exactly what productionBin holds in runFactory and is stored in the same way, so the inventory,
+     * the defective counts and the report are identical to runFactory.
+     * -if a machine fails, the days already handed over are stored and the storing thread has stopped before the
+     * exception is thrown, so the inventory holds whole days and nothing changes it afterwards.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     */
+    public void runFactoryPipelined(int days, int minutes) {
+    	BlockingQueue<Stack<CarPart>> emptyBins = new ArrayBlockingQueue<Stack<CarPart>>(PIPELINE_BINS);
+    	// One more slot for the bin that tells the storing thread there are no more days
+    	BlockingQueue<Stack<CarPart>> fullBins = new ArrayBlockingQueue<Stack<CarPart>>(PIPELINE_BINS + 1);
+    	Stack<CarPart> lastDay = new ArrayStack<CarPart>();
+    	for (int i = 0; i < PIPELINE_BINS; i++) {
+    		emptyBins.add(new ArrayStack<CarPart>());
+    	}
+    	AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    	Thread storer = new Thread(() -> {
+    		try {
+    			for (Stack<CarPart> bin = fullBins.take(); bin != lastDay; bin = fullBins.take()) {
+    				try {
+    					if (failure.get() == null) {
+    						storeInInventory(bin);
+    					}
+    				} catch (RuntimeException | Error e) {
+    					// Keep taking bins so the machines never wait for a bin that won't come back
+    					failure.compareAndSet(null, e);
+    				}
+    				bin.clear();
+    				emptyBins.put(bin);
+    			}
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    		}
+    	}, "inventory");
+    	storer.start();
+    	try {
+    		for (int i = 0; i < days; i++) {
+    			Stack<CarPart> bin = emptyBins.take();
+    			for (PartMachine machine : machines) {
+    				runMachineDay(machine, minutes, bin::push);
+    			}
+    			fullBins.put(bin);
+    		}
+    	} catch (InterruptedException e) {
+    		storer.interrupt();
+    		Thread.currentThread().interrupt();
+    		throw new IllegalStateException("Interrupted while running the factory", e);
+    	} finally {
+    		// Also when a machine fails, so the storing thread isn't left waiting for bins or still storing.
+    		// offer never fails, at most PIPELINE_BINS bins can be in fullBins.
+    		fullBins.offer(lastDay);
+    		joinUninterruptibly(storer);
+    	}
+    	if (failure.get() != null) {
+    		throw new IllegalStateException("Storing parts failed while running the factory", failure.get());
+    	}
+    	processOrders();
     }
     
     /**
@@ -230,18 +883,19 @@ public class CarPartFactory {
      * @param order
      * @return
      * -helper method of processOrders that checks if a order was fulfilled
-     * -created a map of the requested parts of the order parameter
-     * -ran a loop thought the key and inside if the inventory had the key and the requested parts was greater than
-     * the inventory's part list size then it change the fulfilled boolean to false and break.
+     * -got the requested parts of the order parameter as an IntIntMap (orders read by setupOrders already are one)
+     * -ran a loop through its slots and inside if the inventory had the key and the requested parts was greater than
+     * the inventory's count of that part then it change the fulfilled boolean to false and break.
      * -else just fulfilled false and break
      * -return fulfilled
      */
     public boolean checkFulfilled(Order order) {
     	boolean fulfilled = true;
-    	Map<Integer, Integer> requested = order.getRequestedParts();
-    	for (Integer key : requested.getKeys()) {
-    		if (inventory.containsKey(key)) {
-    			if (requested.get(key) 	>  inventory.get(key).size()) {
+    	IntIntMap requested = IntIntMap.from(order.getRequestedParts());
+    	for (int slot = requested.nextSlot(0); slot != -1; slot = requested.nextSlot(slot + 1)) {
+    		int id = requested.keyAt(slot);
+    		if (inventory.hasPartType(id)) {
+    			if (requested.valueAt(slot) >  inventory.count(id)) {
     				fulfilled = false;
     				break;
     			}
@@ -254,32 +908,188 @@ public class CarPartFactory {
     	return fulfilled;
     }
     
+    /**
+     * The orders compiled into an OrderFeasibility. It is built the first time it is needed and again after
+     * setOrders or setupOrders, changes made to the orders themselves in between are not seen.
+     */
+    public OrderFeasibility getOrderFeasibility() {
+    	if (orderFeasibility == null) {
+    		orderFeasibility = new OrderFeasibility(orders);
+    	}
+    	return orderFeasibility;
+    }
+    
+    /**
+     * Same answer as calling checkFulfilled on every order that isn't fulfilled yet, but computed for all of them at once with
+     * getOrderFeasibility and a snapshot of the inventory counts. Fulfilled orders are left out, like processOrders skips them.
+     * @return (List) orders not fulfilled yet that could be fulfilled right now, in the order of the orders list
+     */
+    public List<Order> feasibleOrders() {
+    	OrderFeasibility feasibility = getOrderFeasibility();
+    	return feasibility.feasibleOrders(feasibility.snapshot(inventory));
+    }
+    
    /**
+    * -first moved the orders given to submitOrder to the end of the orders list
+    * -with an order priority other than ARRIVAL the orders are checked in that priority order (with a PendingOrderIndex)
+    * instead of list order
     * -ran a for each loop through the orders list and called the checkFulfilled function with the order as the parameter
     * -if the checkFulfilled returned true it sets the order setFulfilled to true. 
-    * -then ran throught the keys of the order and ran a for loop through the size of the inventory list and the
-    * quantity to remove the needed parts. 
+    * -then ran through the requested parts of the order with forEach (no list of keys is built and no second lookup
+    * for the quantity) and removed the oldest parts of each requested part from the inventory, they go back to the pool if pooling is on. 
+    * -exactly the requested quantity of each part is removed. The first version of this loop stopped once its counter passed the
+    * shrinking list size, so an order asking for more than half of the stock of a part left some of those parts in the inventory. 
+    * -orders that are already fulfilled (by an earlier call or another run mode) are skipped in both paths. The first version
+    * checked them again, so they took their parts a second time or were marked as not fulfilled.
     */
     public void processOrders() {
+    	takeSubmittedOrders(order -> {});
+    	if (orderPriority != OrderPriority.ARRIVAL) {
+    		// Same check for every order, in priority order instead of list order
+    		PendingOrderIndex byPriority = new PendingOrderIndex(partCatalog.size(), orderPriority);
+    		for (Order order : orders) {
+    			if (!order.isFulfilled()) {
+    				byPriority.add(order);
+    			}
+    		}
+    		byPriority.process(inventory, this::releasePart);
+    		flushReleasedParts();
+    		return;
+    	}
         for (Order order : orders) {
+        	if (order.isFulfilled()) {
+        		continue;
+        	}
         	if (checkFulfilled(order)) {
         		order.setFulfilled(true);
-        		for (Integer key : order.getRequestedParts().getKeys()) {
-        			List<CarPart> parts = inventory.get(key);
-        			int quantity = order.getRequestedParts().get(key);
-        			int count = 0;
-            		while (count < parts.size() && quantity > 0) {
-            			inventory.get(key).remove(0);
-            			quantity--;
-            			count++;
-            		}
-            	}
+        		order.getRequestedParts().forEach((key, requested) -> inventory.removeFirst(key.intValue(), requested.intValue(), this::releasePart));
         	}
         	else {
         		order.setFulfilled(false);
         	}
         }
+        flushReleasedParts();
+    }
+    /**
+     * Fulfills the orders that can be fulfilled with the parts stored since the last call, without
+     * checking every order again like processOrders does.
+     * -the first call adds every order to a PendingOrderIndex, and every call adds the orders given to submitOrder
+     * since the last one (they also go to the end of the orders list).
+     * -storing a part marks it as changed, and only the new orders and the orders waiting on changed parts are checked.
+     * They are checked in the order of the OrderPriority: each one is fulfilled if the inventory has its parts,
+     * otherwise it waits on the first part it is missing.
+     * Orders are fulfilled as soon as their parts are there instead of all at the end, so an order can take
+     * parts that processOrders would have given to an earlier order in the list.
+     * @return (int) number of orders fulfilled by this call
+     */
+    public int processPendingOrders() {
+    	if (pendingOrders == null) {
+    		pendingOrders = new PendingOrderIndex(partCatalog.size(), orderPriority);
+    		for (Order order : orders) {
+    			if (!order.isFulfilled()) {
+    				pendingOrders.add(order);
+    			}
+    		}
+    	}
+    	takeSubmittedOrders(pendingOrders::add);
+    	int fulfilled = pendingOrders.process(inventory, this::releasePart);
+    	flushReleasedParts();
+    	return fulfilled;
+    }
+    
+    public OrderPriority getOrderPriority() {
+    	return this.orderPriority;
+    }
+    
+    /**
+     * Changes which orders get the parts first when they compete for them, in processOrders and processPendingOrders.
+     * @param orderPriority - new priority, OrderPriority.ARRIVAL (the default) keeps the order of the orders list
+     */
+    public void setOrderPriority(OrderPriority orderPriority) {
+    	this.orderPriority = orderPriority;
+    	if (pendingOrders != null) {
+    		pendingOrders.setPriority(orderPriority);
+    	}
     }
+    
+    /**
+     * @return (int) orders still waiting for parts, all of them if processPendingOrders was never called
+     */
+    public int getPendingOrderCount() {
+    	return pendingOrders == null ? orders.size() : pendingOrders.size();
+    }
+    
+    /**
+     * Same as runFactory, but orders are fulfilled at the end of every day with processPendingOrders
+     * instead of once at the end with processOrders. Each day only the orders waiting on the parts made that
+     * day are checked, so the cost doesn't grow with the number of orders that are still waiting.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     */
+    public void runFactoryIncremental(int days, int minutes) {
+    	for (int i = 0; i < days; i++) {
+    		for (PartMachine machine : machines) {
+    			runMachineDay(machine, minutes, productionBin::push);
+    		}
+    		storeInInventory();
+    		processPendingOrders();
+    	}
+    }
+    
+    /**
+     * Reserves parts for the orders instead of waiting until a whole order can be fulfilled at once.
+     * -the first call adds every order to a ReservationLedger, and every call adds the orders given to submitOrder
+     * since the last one (they also go to the end of the orders list).
+     * -each order takes what the inventory already has of its parts and waits for the rest. From then on every
+     * part stored goes to the oldest order waiting for it instead of the inventory, and an order is fulfilled as
+     * soon as its last part is stored.
+     * -orders that are already fulfilled (for example by processOrders) are not added, they already got their parts.
+     * Parts go to orders in the order they were reserved, the OrderPriority is not used.
+     * processOrders and processPendingOrders still work, but they only see the parts that no order took. An order the
+     * ledger fulfills is skipped by processOrders, and the pending index drops it instead of fulfilling it again.
+     */
+    public void reserveOrders() {
+    	if (reservations == null) {
+    		reservations = new ReservationLedger(orders.size());
+    		for (Order order : orders) {
+    			reserve(order);
+    		}
+    	}
+    	takeSubmittedOrders(this::reserve);
+    	flushReleasedParts();
+    }
+    
+    private void reserve(Order order) {
+    	if (!order.isFulfilled()) {
+    		reservations.register(order, inventory, this::releasePart);
+    	}
+    }
+    
+    /**
+     * @return (ReservationLedger) ledger with what every reserved order is still waiting for, null if reserveOrders was never called
+     */
+    public ReservationLedger getReservationLedger() {
+    	return this.reservations;
+    }
+    
+    /**
+     * Same as runFactory, but orders are reserved first with reserveOrders and then take the parts as they are stored,
+     * so each order is fulfilled the day its last part is made instead of at the end. The orders given to submitOrder
+     * are reserved at the end of every day.
+     * @param days - number of days to run
+     * @param minutes - length of every day
+     */
+    public void runFactoryReserved(int days, int minutes) {
+    	reserveOrders();
+    	for (int i = 0; i < days; i++) {
+    		for (PartMachine machine : machines) {
+    			runMachineDay(machine, minutes, productionBin::push);
+    		}
+    		storeInInventory();
+    		reserveOrders();
+    	}
+    }
+    
     /**
      * Generates a report indicating how many parts were produced per machine,
      * how many of those were defective and are still in inventory. Additionally, 
@@ -291,7 +1101,7 @@ public class CarPartFactory {
         for (PartMachine machine : this.getMachines()) {
             report += machine + "\t(" + 
             this.getDefectives().get(machine.getPart().getId()) +" defective)\t(" + 
-            this.getInventory().get(machine.getPart().getId()).size() + " in inventory)\n";
+            inventory.count(machine.getPart().getId()) + " in inventory)\n";
         }
        
         report += "\nORDERS\n\n";
@@ -0,0 +1,19 @@
+package main;
+
+import data_structures.ObjectPool;
+
+/**
+ * ObjectPool of CarParts. PartMachine takes its new parts from it and CarPartFactory gives back the parts
+ * it drops: defective parts once they are counted, parts used by orders, and parts stored by an inventory
+ * that doesn't keep the CarPart objects. Both go through their own PoolCache, and a reused part is given its
+ * new values with CarPart.reset.
+ */
+public class CarPartPool extends ObjectPool<CarPart> {
+
+	/**
+	 * @param maxSize - most released parts kept
+	 */
+	public CarPartPool(int maxSize) {
+		super(maxSize, () -> new CarPart(null, 0, false));
+	}
+}
@@ -0,0 +1,83 @@
+package main;
+
+import data_structures.ArrayList;
+import data_structures.IntObjectMap;
+import data_structures.PartColumnStore;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * PartInventory that keeps the parts in a PartColumnStore per part id instead of as CarPart objects,
+ * so a stored part costs a few bytes instead of an object and a list node.
+ * Only the id, weight and defect of a part are kept, the PartType of the catalog part is used when asMap
+ * turns the columns back into CarParts.
+ */
+public class ColumnarInventory implements PartInventory {
+
+	private IntObjectMap<PartColumnStore> parts;
+	private Map<Integer, CarPart> partCatalog;
+
+	/**
+	 * @param partCatalog - catalog used to give names to the parts returned by asMap
+	 */
+	public ColumnarInventory(Map<Integer, CarPart> partCatalog) {
+		this.parts = new IntObjectMap<PartColumnStore>(Math.max(1, partCatalog.size()));
+		this.partCatalog = partCatalog;
+	}
+
+	@Override
+	public void addPartType(int partId) {
+		if (!parts.containsKey(partId)) {
+			parts.put(partId, new PartColumnStore());
+		}
+	}
+
+	@Override
+	public boolean hasPartType(int partId) {
+		return parts.containsKey(partId);
+	}
+
+	@Override
+	public void add(CarPart part) {
+		parts.get(part.getId()).add(part.getId(), part.getWeight(), part.isDefective());
+	}
+
+	/**
+	 * Only the values of the part are stored, so the part can be reused after add.
+	 */
+	@Override
+	public boolean keepsParts() {
+		return false;
+	}
+
+	@Override
+	public int count(int partId) {
+		PartColumnStore store = parts.get(partId);
+		return store == null ? 0 : store.size();
+	}
+
+	@Override
+	public void removeFirst(int partId, int quantity) {
+		if (quantity > count(partId)) throw new IllegalArgumentException("Not enough parts with id " + partId);
+		parts.get(partId).removeFirst(quantity);
+	}
+
+	/**
+	 * Builds a new CarPart for every stored part. Changes to the result don't change the inventory.
+	 */
+	@Override
+	public Map<Integer, List<CarPart>> asMap() {
+		IntObjectMap<List<CarPart>> result = new IntObjectMap<List<CarPart>>(Math.max(1, parts.size()));
+		parts.forEach((partId, store) -> {
+			CarPart catalogPart = partCatalog.get(partId);
+			PartType type = catalogPart == null ? new PartType(partId, null, 0) : catalogPart.getType();
+			List<CarPart> list = new ArrayList<CarPart>(Math.max(1, store.size()));
+			for (int i = 0; i < store.size(); i++) {
+				list.add(new CarPart(type, store.getWeight(i), store.isDefective(i)));
+			}
+			result.put(partId.intValue(), list);
+		});
+		return result;
+	}
+
+}
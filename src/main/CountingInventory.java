@@ -0,0 +1,103 @@
+package main;
+
+import data_structures.ArrayList;
+import data_structures.IntIntMap;
+import data_structures.IntObjectMap;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * PartInventory that only keeps how many parts of each id are in stock, plus running WeightStats
+ * of every part stored with that id. Storing, counting and removing parts are O(1) and the memory
+ * used doesn't grow with the number of parts produced.
+ * Since the parts themselves are gone, asMap builds stand-in parts that only have the right count.
+ */
+public class CountingInventory implements PartInventory {
+
+	private IntIntMap counts;
+	private IntObjectMap<WeightStats> weightStats;
+	private Map<Integer, CarPart> partCatalog;
+
+	/**
+	 * @param partCatalog - catalog used to give names to the parts returned by asMap
+	 */
+	public CountingInventory(Map<Integer, CarPart> partCatalog) {
+		int initialCapacity = Math.max(1, partCatalog.size());
+		this.counts = new IntIntMap(initialCapacity);
+		this.weightStats = new IntObjectMap<WeightStats>(initialCapacity);
+		this.partCatalog = partCatalog;
+	}
+
+	@Override
+	public void addPartType(int partId) {
+		if (!counts.containsKey(partId)) {
+			counts.put(partId, 0);
+			weightStats.put(partId, new WeightStats());
+		}
+	}
+
+	@Override
+	public boolean hasPartType(int partId) {
+		return counts.containsKey(partId);
+	}
+
+	@Override
+	public void add(CarPart part) {
+		counts.increment(part.getId(), 1);
+		weightStats.get(part.getId()).add(part.getWeight());
+	}
+
+	/**
+	 * Only the values of the part are stored, so the part can be reused after add.
+	 */
+	@Override
+	public boolean keepsParts() {
+		return false;
+	}
+
+	@Override
+	public int count(int partId) {
+		return counts.get(partId);
+	}
+
+	@Override
+	public void removeFirst(int partId, int quantity) {
+		if (quantity > count(partId)) throw new IllegalArgumentException("Not enough parts with id " + partId);
+		// increment would add the id as a key, without stats, if it isn't kept
+		if (quantity == 0 || !hasPartType(partId)) return;
+		counts.increment(partId, -quantity);
+	}
+
+	/**
+	 * Statistics of the weights of every part stored with the given id, including the ones
+	 * that were later removed by orders.
+	 * @param partId - id of the part
+	 * @return (WeightStats) statistics of the part, null if the id is not kept in this inventory
+	 */
+	public WeightStats getWeightStats(int partId) {
+		return weightStats.get(partId);
+	}
+
+	/**
+	 * Builds count(partId) new CarParts for every id. The weights are not kept, so every part gets the mean
+	 * weight of its id (see getWeightStats). Changes to the result don't change the inventory.
+	 */
+	@Override
+	public Map<Integer, List<CarPart>> asMap() {
+		IntObjectMap<List<CarPart>> result = new IntObjectMap<List<CarPart>>(Math.max(1, counts.size()));
+		for (int slot = counts.nextSlot(0); slot != -1; slot = counts.nextSlot(slot + 1)) {
+			int partId = counts.keyAt(slot);
+			int count = counts.valueAt(slot);
+			CarPart catalogPart = partCatalog.get(partId);
+			PartType type = catalogPart == null ? new PartType(partId, null, 0) : catalogPart.getType();
+			double weight = weightStats.get(partId).getMean();
+			List<CarPart> list = new ArrayList<CarPart>(Math.max(1, count));
+			for (int i = 0; i < count; i++) {
+				list.add(new CarPart(type, weight, false));
+			}
+			result.put(partId, list);
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,21 @@
+package main;
+
+/**
+ * Ways CarPartFactory can keep its inventory, see CarPartFactory.setInventoryMode.
+ */
+public enum InventoryMode {
+	/**
+	 * Every part is kept as a CarPart in a list per part id (ListInventory).
+	 */
+	LISTS,
+	/**
+	 * Parts are kept as columns of ids, weights and defect bits in a PartColumnStore per part id (ColumnarInventory).
+	 */
+	COLUMNS,
+	/**
+	 * Only the number of parts and their weight statistics are kept per part id (CountingInventory).
+	 * CarPartFactory.getInventory returns new stand-in parts instead, as many as the count of each id and all with
+	 * the mean weight of the parts stored with that id.
+	 */
+	COUNTS
+}
@@ -0,0 +1,114 @@
+package main;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import data_structures.IntObjectMap;
+import data_structures.SinglyLinkedList;
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * PartInventory that keeps every part as a CarPart in a list per part id.
+ * asMap returns the map the parts are stored in, so changes to it change the inventory.
+ */
+public class ListInventory implements PartInventory {
+
+	private IntObjectMap<List<CarPart>> parts;
+	// Spare nodes kept by every list created by addPartType, see SinglyLinkedList.setMaxSpareNodes
+	private int maxSpareNodes;
+
+	public ListInventory(int initialCapacity) {
+		this.parts = new IntObjectMap<List<CarPart>>(initialCapacity);
+	}
+
+	/**
+	 * Uses the given map to store the parts.
+	 * @param parts - lists of parts by part id
+	 */
+	public ListInventory(IntObjectMap<List<CarPart>> parts) {
+		this.parts = parts;
+	}
+
+	/**
+	 * Makes the lists created from now on by addPartType recycle up to maxSpareNodes removed nodes.
+	 * @param maxSpareNodes - most spare nodes per list, 0 turns recycling off
+	 */
+	public void setMaxSpareNodes(int maxSpareNodes) {
+		this.maxSpareNodes = maxSpareNodes;
+	}
+
+	@Override
+	public void addPartType(int partId) {
+		if (!parts.containsKey(partId)) {
+			SinglyLinkedList<CarPart> list = new SinglyLinkedList<CarPart>();
+			list.setMaxSpareNodes(maxSpareNodes);
+			parts.put(partId, list);
+		}
+	}
+
+	@Override
+	public boolean hasPartType(int partId) {
+		return parts.containsKey(partId);
+	}
+
+	@Override
+	public void add(CarPart part) {
+		parts.get(part.getId()).add(part);
+	}
+
+	@Override
+	public boolean keepsParts() {
+		return true;
+	}
+
+	@Override
+	public int count(int partId) {
+		List<CarPart> list = parts.get(partId);
+		return list == null ? 0 : list.size();
+	}
+
+	@Override
+	public void removeFirst(int partId, int quantity) {
+		removeFirst(partId, quantity, part -> {});
+	}
+
+	@Override
+	public void removeFirst(int partId, int quantity, Consumer<CarPart> removed) {
+		List<CarPart> list = parts.get(partId);
+		if (quantity > count(partId)) throw new IllegalArgumentException("Not enough parts with id " + partId);
+		Iterator<CarPart> oldest = list.iterator();
+		for (int i = 0; i < quantity; i++) {
+			removed.accept(oldest.next());
+		}
+		list.removeFirst(quantity);
+	}
+
+	/**
+	 * @return (long) node hits of all the lists, see SinglyLinkedList.getNodeHits
+	 */
+	public long getNodeHits() {
+		long[] hits = {0};
+		parts.forEach((partId, list) -> {
+			if (list instanceof SinglyLinkedList) hits[0] += ((SinglyLinkedList<CarPart>) list).getNodeHits();
+		});
+		return hits[0];
+	}
+
+	/**
+	 * @return (long) node misses of all the lists, see SinglyLinkedList.getNodeMisses
+	 */
+	public long getNodeMisses() {
+		long[] misses = {0};
+		parts.forEach((partId, list) -> {
+			if (list instanceof SinglyLinkedList) misses[0] += ((SinglyLinkedList<CarPart>) list).getNodeMisses();
+		});
+		return misses[0];
+	}
+
+	@Override
+	public Map<Integer, List<CarPart>> asMap() {
+		return parts;
+	}
+
+}
@@ -11,6 +11,12 @@ public class Order {
 	private String customerName;
 	private Map<Integer,Integer> requestedParts;
 	private boolean fulfilled;
+	// Day the order is due, NO_DUE_DATE if it has none
+	private int dueDate = NO_DUE_DATE;
+	// Customer tier, higher tiers are more important customers
+	private int tier = 0;
+	
+	public static final int NO_DUE_DATE = Integer.MAX_VALUE;
    
 	/**
 	 * 
@@ -51,6 +57,32 @@ public class Order {
     	this.requestedParts = requestedParts;
     }
     
+    public int getDueDate() {
+    	return this.dueDate;
+    }
+    
+    public void setDueDate(int dueDate) {
+    	this.dueDate = dueDate;
+    }
+    
+    public int getTier() {
+    	return this.tier;
+    }
+    
+    public void setTier(int tier) {
+    	this.tier = tier;
+    }
+    
+    /**
+     * Size of the order.
+     * @return (int) sum of the quantities of every requested part
+     */
+    public int getTotalQuantity() {
+    	int[] total = {0};
+    	this.getRequestedParts().forEach((id, quantity) -> total[0] += quantity);
+    	return total[0];
+    }
+    
     public String getCustomerName() {
     	return this.customerName;
     }
@@ -0,0 +1,169 @@
+package main;
+
+import java.util.Arrays;
+
+import data_structures.ArrayList;
+import data_structures.IntIntMap;
+import interfaces.List;
+
+/**
+ * Answers which orders could be fulfilled with a given stock, for many orders at once.
+ * The orders are compiled once into a dense int matrix with a row per order and a column per part id, and the
+ * stock is given as an int array with a count per column, so checking every order is a few loops over
+ * primitive arrays with no map lookups or boxing.
+ * -the matrix is stored column by column, and each column is a single loop over all the orders that only
+ * subtracts and ors ints. There is no branch in it, so the JIT can turn it into SIMD instructions.
+ * -each order is checked on its own, like checkFulfilled: two orders that need the same parts can both be
+ * feasible even if the stock only covers one of them.
+ * -orders that are already fulfilled are never feasible, like processOrders skips them. The fulfilled flag is read
+ * when the answer is built, so orders fulfilled after compiling are left out without compiling again.
+ * Other changes to the orders after compiling are not seen, compile again if they change.
+ */
+public class OrderFeasibility {
+
+	// Value of a cell whose order doesn't request that part, smaller than any count in a snapshot
+	private static final int NOT_REQUESTED = -1;
+	// Count of a part the inventory doesn't keep, orders that request it are never feasible
+	private static final int UNKNOWN_PART = -1;
+
+	private Order[] orders;
+	private int[] partIds;
+	// Column of every part id
+	private IntIntMap columns;
+	// quantities[column * orders.length + row] = quantity of the part of column requested by the order of row
+	private int[] quantities;
+
+	/**
+	 * Compiles orders with a column for every part id requested by any of them.
+	 * @param orders - orders to check
+	 */
+	public OrderFeasibility(List<Order> orders) {
+		this.orders = new Order[orders.size()];
+		this.columns = new IntIntMap(16);
+		List<Integer> ids = new ArrayList<Integer>();
+		int row = 0;
+		for (Order order : orders) {
+			this.orders[row++] = order;
+			IntIntMap requested = IntIntMap.from(order.getRequestedParts());
+			for (int slot = requested.nextSlot(0); slot != -1; slot = requested.nextSlot(slot + 1)) {
+				int partId = requested.keyAt(slot);
+				if (!columns.containsKey(partId)) {
+					columns.put(partId, ids.size());
+					ids.add(partId);
+				}
+			}
+		}
+		this.partIds = new int[ids.size()];
+		for (int column = 0; column < partIds.length; column++) {
+			partIds[column] = ids.get(column);
+		}
+		if ((long) this.orders.length * partIds.length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many orders and parts for a single matrix");
+		}
+		this.quantities = new int[this.orders.length * partIds.length];
+		Arrays.fill(quantities, NOT_REQUESTED);
+		for (row = 0; row < this.orders.length; row++) {
+			IntIntMap requested = IntIntMap.from(this.orders[row].getRequestedParts());
+			for (int slot = requested.nextSlot(0); slot != -1; slot = requested.nextSlot(slot + 1)) {
+				int column = columns.get(requested.keyAt(slot));
+				quantities[column * this.orders.length + row] = requested.valueAt(slot);
+			}
+		}
+	}
+
+	public int getOrderCount() {
+		return orders.length;
+	}
+
+	public int getPartCount() {
+		return partIds.length;
+	}
+
+	/**
+	 * @param row - row of the matrix
+	 * @return (Order) order of that row, rows follow the order of the list given to the constructor
+	 */
+	public Order getOrder(int row) {
+		return orders[row];
+	}
+
+	/**
+	 * @param column - column of the matrix
+	 * @return (int) part id of that column
+	 */
+	public int getPartId(int column) {
+		return partIds[column];
+	}
+
+	/**
+	 * Copies the current count of every column's part out of inventory.
+	 * @param inventory - inventory to read
+	 * @return (int[]) count per column, -1 for parts the inventory doesn't keep
+	 */
+	public int[] snapshot(PartInventory inventory) {
+		int[] stock = new int[partIds.length];
+		for (int column = 0; column < partIds.length; column++) {
+			stock[column] = inventory.hasPartType(partIds[column]) ? inventory.count(partIds[column]) : UNKNOWN_PART;
+		}
+		return stock;
+	}
+
+	/**
+	 * Checks every order against stock.
+	 * @param stock - count per column, as returned by snapshot
+	 * @return (boolean[]) for every row, whether its order is not fulfilled yet and could be fulfilled with stock
+	 */
+	public boolean[] feasible(int[] stock) {
+		int[] shortfall = shortfalls(stock);
+		boolean[] result = new boolean[orders.length];
+		for (int row = 0; row < orders.length; row++) {
+			result[row] = shortfall[row] >= 0 && !orders[row].isFulfilled();
+		}
+		return result;
+	}
+
+	/**
+	 * @param stock - count per column, as returned by snapshot
+	 * @return (int) number of orders not fulfilled yet that could be fulfilled with stock
+	 */
+	public int countFeasible(int[] stock) {
+		int[] shortfall = shortfalls(stock);
+		int count = 0;
+		for (int row = 0; row < orders.length; row++) {
+			if (!orders[row].isFulfilled()) count += (~shortfall[row]) >>> 31;
+		}
+		return count;
+	}
+
+	/**
+	 * @param stock - count per column, as returned by snapshot
+	 * @return (List) the orders not fulfilled yet that could be fulfilled with stock, in row order
+	 */
+	public List<Order> feasibleOrders(int[] stock) {
+		int[] shortfall = shortfalls(stock);
+		List<Order> result = new ArrayList<Order>();
+		for (int row = 0; row < orders.length; row++) {
+			if (shortfall[row] >= 0 && !orders[row].isFulfilled()) result.add(orders[row]);
+		}
+		return result;
+	}
+
+	/**
+	 * For every row ors together stock - quantity of all its columns. The result is negative exactly when
+	 * some requested quantity is bigger than the stock.
+	 */
+	private int[] shortfalls(int[] stock) {
+		if (stock.length != partIds.length) throw new IllegalArgumentException("Need a count for every part");
+		int rows = orders.length;
+		int[] shortfall = new int[rows];
+		for (int column = 0; column < partIds.length; column++) {
+			// Keeps stock - quantity from overflowing when quantity is NOT_REQUESTED
+			int available = Math.min(stock[column], Integer.MAX_VALUE - 1);
+			int base = column * rows;
+			for (int row = 0; row < rows; row++) {
+				shortfall[row] |= available - quantities[base + row];
+			}
+		}
+		return shortfall;
+	}
+}
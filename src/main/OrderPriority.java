@@ -0,0 +1,42 @@
+package main;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Order in which CarPartFactory fulfills orders that compete for the same parts, see CarPartFactory.setOrderPriority.
+ * Orders with the same priority are fulfilled in the order they arrived.
+ */
+public enum OrderPriority {
+	/**
+	 * Orders are fulfilled in the order they arrived (the orders file, then submitOrder).
+	 */
+	ARRIVAL(order -> 0),
+	/**
+	 * Earliest due date first, orders with no due date go last.
+	 */
+	DUE_DATE(Order::getDueDate),
+	/**
+	 * Highest customer tier first.
+	 */
+	TIER(order -> -order.getTier()),
+	/**
+	 * Smallest orders (fewest parts in total) first, which fulfills as many orders as possible.
+	 */
+	SIZE(Order::getTotalQuantity);
+
+	private final ToIntFunction<Order> key;
+
+	private OrderPriority(ToIntFunction<Order> key) {
+		this.key = key;
+	}
+
+	/**
+	 * Orders with a smaller key go first. It can take some work (SIZE adds up the requested parts), so it
+	 * should be computed once per order instead of in every comparison.
+	 * @param order - order to rank
+	 * @return (int) key of the order for this priority
+	 */
+	public int key(Order order) {
+		return this.key.applyAsInt(order);
+	}
+}
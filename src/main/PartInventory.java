@@ -0,0 +1,64 @@
+package main;
+
+import java.util.function.Consumer;
+
+import interfaces.List;
+import interfaces.Map;
+
+/**
+ * Where CarPartFactory keeps the parts that passed inspection, grouped by part id.
+ * Each part id works like a queue: parts are added at the end and orders take the oldest ones first.
+ * InventoryMode lists the available implementations.
+ */
+public interface PartInventory {
+	/**
+	 * Starts keeping parts with the given id. Parts with an id that was never added can't be stored.
+	 * @param partId - id of the part
+	 */
+	public void addPartType(int partId);
+	/**
+	 * Whether parts with the given id are kept in this inventory.
+	 * @param partId - id of the part
+	 * @return (boolean) true if addPartType was called with partId
+	 */
+	public boolean hasPartType(int partId);
+	/**
+	 * Stores a part at the end of the parts with its id.
+	 * @param part - part to store
+	 */
+	public void add(CarPart part);
+	/**
+	 * Number of parts stored with the given id.
+	 * @param partId - id of the part
+	 * @return (int) parts in inventory, 0 if the id is not kept in this inventory
+	 */
+	public int count(int partId);
+	/**
+	 * Removes the quantity oldest parts with the given id.
+	 * @param partId - id of the part
+	 * @param quantity - number of parts to remove, at most count(partId)
+	 */
+	public void removeFirst(int partId, int quantity);
+	/**
+	 * Same as removeFirst(partId, quantity), and gives every removed part to removed. Inventories that don't
+	 * keep CarPart objects have nothing to give.
+	 * @param partId - id of the part
+	 * @param quantity - number of parts to remove, at most count(partId)
+	 * @param removed - receives the removed parts
+	 */
+	public default void removeFirst(int partId, int quantity, Consumer<CarPart> removed) {
+		removeFirst(partId, quantity);
+	}
+	/**
+	 * Whether the CarPart objects given to add are kept. If not, the caller may reuse them right after add.
+	 * @return (boolean) true if add keeps the part itself
+	 */
+	public boolean keepsParts();
+	/**
+	 * The inventory as a map from part id to the list of its parts, oldest first.
+	 * Implementations that don't store CarPart objects return a copy, and CountingInventory, which doesn't keep
+	 * the weights either, returns parts with the mean weight of their id.
+	 * @return (Map) parts by id
+	 */
+	public Map<Integer, List<CarPart>> asMap();
+}
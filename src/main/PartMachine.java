@@ -1,8 +1,10 @@
 package main;
 
 import interfaces.Queue;
-import data_structures.ListQueue;
-import java.util.Random;
+import data_structures.ArrayRingQueue;
+import data_structures.PoolCache;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
 
 public class PartMachine {
    
@@ -10,16 +12,25 @@ public class PartMachine {
 	 * private fields of PartMachine class, some variables are initialized here.
 	 * -initialized timer as queue
 	 * -initialized conveyorBelt as queue because it simulate a real one were new produced parts are at the end and older ones are at the front
+	 * -both are ArrayRingQueues sized in the constructor, they never grow after that so ticking the timer and
+	 * moving the belt every minute doesn't create any nodes.
+	 * -random gives the weights of the parts. It is unseeded unless one is given, CarPartFactory gives every machine
+	 * its own stream split from the factory seed so runs can be repeated.
 	 */
 	private int id;
 	private CarPart p1;
 	private double weightError;
 	private int period;
 	private int defectiveChance;
-	private Queue<Integer> timer = new ListQueue<Integer>();
+	private Queue<Integer> timer;
 	private int totalPartsProduced = 0;
-	private Queue<CarPart> conveyorBelt = new ListQueue<CarPart>();
-	private Random random = new Random();
+	private Queue<CarPart> conveyorBelt;
+	private SplittableRandom random;
+	// Where new parts come from when pooling is on, null otherwise. The machine takes them through its own
+	// cache so machines running on different threads only lock the shared pool once per batch.
+	private CarPartPool partPool;
+	private PoolCache<CarPart> partCache;
+	private static final int PART_BATCH = 64;
 	
 	/**
 	 * 
@@ -33,11 +44,23 @@ public class PartMachine {
 	 * -for conveyorBelt i filled it with 10 null values
 	 */
     public PartMachine(int id, CarPart p1, int period, double weightError, int chanceOfDefective) {
+    	this(id, p1, period, weightError, chanceOfDefective, new SplittableRandom());
+    }
+    
+    /**
+     * Same as the other constructor, but the weights of the parts come from random.
+     * Two machines given generators with the same seed make parts with the same weights.
+     * @param random - generator used only by this machine
+     */
+    public PartMachine(int id, CarPart p1, int period, double weightError, int chanceOfDefective, SplittableRandom random) {
         this.id = id;
+        this.random = random;
         this.p1 = p1;
         this.period = period;
         this.weightError = weightError;
         this.defectiveChance = chanceOfDefective;
+        this.timer = new ArrayRingQueue<Integer>(Math.max(1, this.period));
+        this.conveyorBelt = new ArrayRingQueue<CarPart>(10);
         for (int time = this.period-1; time >=0 ; time--){
         	this.timer.enqueue(time);
         }
@@ -54,6 +77,30 @@ public class PartMachine {
         this.id = id;
     }
     
+    public int getPeriod() {
+    	return this.period;
+    }
+    
+    public SplittableRandom getRandom() {
+    	return this.random;
+    }
+    
+    public void setRandom(SplittableRandom random) {
+    	this.random = random;
+    }
+    
+    public CarPartPool getPartPool() {
+    	return this.partPool;
+    }
+    
+    /**
+     * @param partPool - pool makePart takes its parts from, null to always create new parts
+     */
+    public void setPartPool(CarPartPool partPool) {
+    	this.partPool = partPool;
+    	this.partCache = partPool == null ? null : new PoolCache<CarPart>(partPool, PART_BATCH);
+    }
+    
     public Queue<Integer> getTimer() {
     	return this.timer;
     }
@@ -126,14 +173,32 @@ public class PartMachine {
     /**
      * 
      * @return
-     * -set the weight, min and max weight with the error, and if it its defective
-     * -used the given equation to check if it was defective
-     * -if timer is 0 created the randomWeight and created a new car part with the information and added it ot the conveyor belt
-     * -increased total parts produced by one
+     * -if timer is 0 made a new part with makePart and added it ot the conveyor belt
      * -if no part was produced a null element was enqueued
      * -it returns the front of the conveyor belt
      */
     public CarPart produceCarPart() {
+    	if (this.tickTimer() == 0) {
+    		this.getConveyorBelt().enqueue(this.makePart());
+    	}
+    	else {
+    		this.getConveyorBelt().enqueue(null);
+    	}
+    	return this.getConveyorBelt().dequeue();
+    }
+    
+    /**
+     * Makes the next part of this machine right away, without touching the timer or the conveyor belt.
+     * produceCarPart uses it when the timer reaches 0, and the event driven simulation calls it directly
+     * at the minutes where the timer would have reached 0.
+     * @return
+     * -set the weight, min and max weight with the error, and if it its defective
+     * -used the given equation to check if it was defective
+     * -created the randomWeight and created a new car part of the same PartType as the machine's part,
+     * taken from the part pool if the machine has one
+     * -increased total parts produced by one
+     */
+    public CarPart makePart() {
     	double weight = this.getPart().getWeight();
     	double min = weight - this.getPartWeightError();
     	double max = weight + this.getPartWeightError();
@@ -141,18 +206,98 @@ public class PartMachine {
     	if (this.getTotalPartsProduced()%this.getChanceOfDefective() == 0) {
     		defective = true;
     	}
-    	if (this.tickTimer() == 0) {
-    		double randomWeight = min + (max-min) * random.nextDouble();
-    		CarPart newPart = new CarPart(this.getPart().getId(),this.getPart().getName(), randomWeight, defective);
-    		this.getConveyorBelt().enqueue(newPart);
-    		this.setTotalPartsProduced(this.getTotalPartsProduced()+1);
+    	double randomWeight = min + (max-min) * random.nextDouble();
+    	CarPart newPart;
+    	if (this.partCache != null) {
+    		newPart = this.partCache.acquire();
+    		newPart.reset(this.getPart().getType(), randomWeight, defective);
     	}
     	else {
-    		this.getConveyorBelt().enqueue(null);
+    		newPart = new CarPart(this.getPart().getType(), randomWeight, defective);
     	}
-    	return this.getConveyorBelt().dequeue();
+    	this.setTotalPartsProduced(this.getTotalPartsProduced()+1);
+    	return newPart;
     }
-
+    
+    /**
+     * Number of calls to tickTimer until the one that returns 0, which is the front of the timer.
+     * @return (int) minutes until this machine makes its next part, 0 if it makes it this minute
+     */
+    public int minutesUntilNextPart() {
+    	return this.getTimer().front();
+    }
+    
+    /**
+     * Moves the timer as if tickTimer was called minutes times. Since the timer repeats every period
+     * minutes only minutes % period rotations are needed.
+     * @param minutes - number of minutes to skip
+     */
+    public void skipMinutes(int minutes) {
+    	int rotations = minutes % this.getTimer().size();
+    	for (int i = 0; i < rotations; i++) {
+    		this.getTimer().enqueue(this.getTimer().dequeue());
+    	}
+    }
+    
+    /**
+     * Number of parts this machine makes in the next minutes minutes. The first one comes after
+     * minutesUntilNextPart minutes and then one every period minutes.
+     * @param minutes - number of minutes to look ahead
+     * @return (int) parts made in that time
+     */
+    public int partsMadeIn(int minutes) {
+    	int first = this.minutesUntilNextPart();
+    	if (first >= minutes) {
+    		return 0;
+    	}
+    	return (minutes - 1 - first) / this.getTimer().size() + 1;
+    }
+    
+    /**
+     * Does the same as calling produceCarPart minutes times and giving every part it returns to sink,
+     * but only does work for the parts that are made instead of for every minute.
+     * -the first min(minutes, belt size) parts that come off the belt are the ones already on it.
+     * -a part made at minute t comes off the belt at minute t + belt size, so the parts made before
+     * minutes - belt size go straight to sink and the rest (and the empty spaces between them) end up on the belt.
+     * -the timer is moved forward with skipMinutes.
+     * Only makePart is called per part, which keeps the defective pattern and the random weights the same as
+     * with produceCarPart.
+     * @param minutes - number of minutes to run
+     * @param sink - receives the parts that come off the belt, in the order they come off
+     * @return (int) number of parts made
+     */
+    public int produceBatch(int minutes, Consumer<CarPart> sink) {
+    	Queue<CarPart> belt = this.getConveyorBelt();
+    	int beltSize = belt.size();
+    	for (int i = Math.min(minutes, beltSize); i > 0; i--) {
+    		CarPart part = belt.dequeue();
+    		if (part != null) {
+    			sink.accept(part);
+    		}
+    	}
+    	int period = this.getTimer().size();
+    	// First minute whose part (or empty space) is still on the belt at the end
+    	int staysOnBelt = Math.max(0, minutes - beltSize);
+    	int next = this.minutesUntilNextPart();
+    	int made = 0;
+    	for (; next < staysOnBelt; next += period) {
+    		sink.accept(this.makePart());
+    		made++;
+    	}
+    	for (int t = staysOnBelt; t < minutes; t++) {
+    		if (t == next) {
+    			belt.enqueue(this.makePart());
+    			made++;
+    			next += period;
+    		}
+    		else {
+    			belt.enqueue(null);
+    		}
+    	}
+    	this.skipMinutes(minutes);
+    	return made;
+    }
+    
     /**
      * Returns string representation of a Part Machine in the following format:
      * Machine {id} Produced: {part name} {total parts produced}
@@ -0,0 +1,41 @@
+package main;
+
+/**
+ * What every unit of a part has in common: its id, name and nominal weight.
+ * It is immutable, so one PartType is shared by the catalog part and every CarPart a machine makes from it,
+ * instead of every unit carrying its own copy of the id and name.
+ */
+public final class PartType {
+
+	private final int id;
+	private final String name;
+	private final double weight;
+
+	/**
+	 * @param id of the part
+	 * @param name of the part
+	 * @param weight - nominal weight of the part, the units made vary around it
+	 */
+	public PartType(int id, String name, double weight) {
+		this.id = id;
+		this.name = name;
+		this.weight = weight;
+	}
+
+	public int getId() {
+		return this.id;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	public double getWeight() {
+		return this.weight;
+	}
+
+	@Override
+	public String toString() {
+		return this.getName();
+	}
+}
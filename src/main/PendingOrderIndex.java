@@ -0,0 +1,197 @@
+package main;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+import data_structures.ArrayRingQueue;
+import data_structures.HeapPriorityQueue;
+import data_structures.IntIntMap;
+import data_structures.IntObjectMap;
+import interfaces.PriorityQueue;
+import interfaces.Queue;
+
+/**
+ * Index from part id to the pending orders that are waiting for that part, used to fulfill orders
+ * as parts arrive instead of checking every order again.
+ * -every pending order waits on a single part: the first of its requested parts that the inventory doesn't have
+ * enough of. The order can't be fulfilled until that part goes up, so nothing else needs to wake it up.
+ * -partStored marks a part as changed if some order is waiting on it. process moves the orders waiting on the
+ * changed parts, and the new orders given to add, into a heap ordered by the OrderPriority. Then it pops them
+ * one by one: each is either fulfilled or goes to wait on the part it is now missing. Fulfilling only takes
+ * parts out, so an order that can't be fulfilled when popped can't be fulfilled later in the same call.
+ * -orders with the same priority are popped in the order they were added.
+ * -an order can also be fulfilled outside the index (by processOrders or a ReservationLedger). Such an order is
+ * dropped the next time the index looks at it instead of taking its parts again. The index never marks an order
+ * as not fulfilled.
+ */
+public class PendingOrderIndex {
+
+	/**
+	 * Order plus the position in which it was added, used to break ties in priority, and its key for the
+	 * priority it was last ranked by, so the heap doesn't compute the key in every comparison.
+	 */
+	private static class PendingOrder {
+		private final Order order;
+		private final long arrival;
+		private int key;
+		private OrderPriority keyPriority;
+
+		public PendingOrder(Order order, long arrival) {
+			this.order = order;
+			this.arrival = arrival;
+		}
+	}
+
+	private static final Comparator<PendingOrder> BY_KEY = (a, b) -> {
+		int result = Integer.compare(a.key, b.key);
+		return result != 0 ? result : Long.compare(a.arrival, b.arrival);
+	};
+
+	// Orders waiting on each part id
+	private IntObjectMap<Queue<PendingOrder>> waiting;
+	// Part ids that went up since the last process, used as a set (the values are ignored)
+	private IntIntMap changedParts;
+	// Orders to check in the next process, by priority
+	private PriorityQueue<PendingOrder> candidates;
+	private OrderPriority priority;
+	private long arrivals;
+	private int pendingCount;
+
+	public PendingOrderIndex(int initialCapacity, OrderPriority priority) {
+		this.waiting = new IntObjectMap<Queue<PendingOrder>>(initialCapacity);
+		this.changedParts = new IntIntMap(initialCapacity);
+		this.candidates = new HeapPriorityQueue<PendingOrder>(BY_KEY);
+		this.priority = priority;
+		this.arrivals = 0;
+		this.pendingCount = 0;
+	}
+
+	/**
+	 * Changes the priority used from the next process on. The keys of the waiting orders are computed
+	 * again when they go back to the candidates.
+	 * @param priority - new priority
+	 */
+	public void setPriority(OrderPriority priority) {
+		this.priority = priority;
+		PriorityQueue<PendingOrder> old = candidates;
+		candidates = new HeapPriorityQueue<PendingOrder>(BY_KEY);
+		while (!old.isEmpty()) {
+			addCandidate(old.removeMin());
+		}
+	}
+
+	/**
+	 * Inserts pending into the candidates, computing its key only if it wasn't ranked by the current priority yet.
+	 */
+	private void addCandidate(PendingOrder pending) {
+		if (pending.keyPriority != priority) {
+			pending.key = priority.key(pending.order);
+			pending.keyPriority = priority;
+		}
+		candidates.insert(pending);
+	}
+
+	/**
+	 * @return (int) orders that are waiting, including the ones added since the last process
+	 */
+	public int size() {
+		return pendingCount;
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Adds a new order, it is fulfilled or starts waiting in the next process.
+	 * @param order - new order
+	 */
+	public void add(Order order) {
+		addCandidate(new PendingOrder(order, arrivals++));
+		pendingCount++;
+	}
+
+	/**
+	 * Called every time a part is added to the inventory.
+	 * @param partId - id of the part that was stored
+	 */
+	public void partStored(int partId) {
+		Queue<PendingOrder> orders = waiting.get(partId);
+		if (orders != null && !orders.isEmpty()) {
+			changedParts.put(partId, 1);
+		}
+	}
+
+	/**
+	 * Checks, by priority, the new orders and the orders waiting on the parts that went up since the last call.
+	 * @param inventory - inventory the parts come from
+	 * @param removed - receives the parts used by the fulfilled orders
+	 * @return (int) number of orders fulfilled
+	 */
+	public int process(PartInventory inventory, Consumer<CarPart> removed) {
+		for (int slot = changedParts.nextSlot(0); slot != -1; slot = changedParts.nextSlot(slot + 1)) {
+			Queue<PendingOrder> orders = waiting.get(changedParts.keyAt(slot));
+			while (!orders.isEmpty()) {
+				PendingOrder pending = orders.dequeue();
+				if (pending.order.isFulfilled()) {
+					pendingCount--;
+				}
+				else {
+					addCandidate(pending);
+				}
+			}
+		}
+		changedParts.clear();
+		int fulfilled = 0;
+		while (!candidates.isEmpty()) {
+			PendingOrder pending = candidates.removeMin();
+			if (pending.order.isFulfilled()) {
+				// Fulfilled outside the index since it was added
+				pendingCount--;
+				continue;
+			}
+			int missing = firstMissingPart(pending.order, inventory);
+			if (missing == -1) {
+				fulfill(pending.order, inventory, removed);
+				pendingCount--;
+				fulfilled++;
+			}
+			else {
+				waitOn(missing, pending);
+			}
+		}
+		return fulfilled;
+	}
+
+	private void waitOn(int partId, PendingOrder pending) {
+		Queue<PendingOrder> orders = waiting.get(partId);
+		if (orders == null) {
+			orders = new ArrayRingQueue<PendingOrder>();
+			waiting.put(partId, orders);
+		}
+		orders.enqueue(pending);
+	}
+
+	/**
+	 * First requested part of order that inventory doesn't have enough of.
+	 * @return (int) id of the part or -1 if the order can be fulfilled
+	 */
+	private static int firstMissingPart(Order order, PartInventory inventory) {
+		IntIntMap requested = IntIntMap.from(order.getRequestedParts());
+		for (int slot = requested.nextSlot(0); slot != -1; slot = requested.nextSlot(slot + 1)) {
+			int partId = requested.keyAt(slot);
+			if (!inventory.hasPartType(partId) || requested.valueAt(slot) > inventory.count(partId)) {
+				return partId;
+			}
+		}
+		return -1;
+	}
+
+	private static void fulfill(Order order, PartInventory inventory, Consumer<CarPart> removed) {
+		IntIntMap requested = IntIntMap.from(order.getRequestedParts());
+		for (int slot = requested.nextSlot(0); slot != -1; slot = requested.nextSlot(slot + 1)) {
+			inventory.removeFirst(requested.keyAt(slot), requested.valueAt(slot), removed);
+		}
+		order.setFulfilled(true);
+	}
+}
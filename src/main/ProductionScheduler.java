@@ -0,0 +1,126 @@
+package main;
+
+/**
+ * Priority queue of production events for the event driven simulation. Every event is the minute at which
+ * a machine makes its next part, and the event with the earliest minute is always at the top
+ * (ties go to the machine with the lowest index so runs are repeatable).
+ *
+ * It is a binary min heap stored in two int arrays, one for the minutes and one for the machine indexes,
+ * so scheduling an event doesn't create any objects. Since a machine always has at most one pending event,
+ * after handling the top event it is either moved to its next minute with reschedule or dropped with removeNext.
+ */
+public class ProductionScheduler {
+
+	private int[] times;
+	private int[] machines;
+	private int size;
+
+	/**
+	 * @param capacity - maximum number of pending events, one per machine
+	 */
+	public ProductionScheduler(int capacity) {
+		this.times = new int[Math.max(1, capacity)];
+		this.machines = new int[Math.max(1, capacity)];
+		this.size = 0;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Adds an event for machine at minute time.
+	 * @param time - minute of the event
+	 * @param machine - index of the machine
+	 */
+	public void schedule(int time, int machine) {
+		if(size == times.length)
+			throw new IllegalStateException("Scheduler is full");
+		times[size] = time;
+		machines[size] = machine;
+		siftUp(size++);
+	}
+
+	/**
+	 * @return (int) minute of the earliest event
+	 */
+	public int nextTime() {
+		if(isEmpty()) throw new IllegalStateException("No events scheduled");
+		return times[0];
+	}
+
+	/**
+	 * @return (int) machine index of the earliest event
+	 */
+	public int nextMachine() {
+		if(isEmpty()) throw new IllegalStateException("No events scheduled");
+		return machines[0];
+	}
+
+	/**
+	 * Moves the earliest event to minute time, keeping its machine. Cheaper than removing it and scheduling a new one.
+	 * @param time - new minute of the event, must not be earlier than the current one
+	 */
+	public void reschedule(int time) {
+		if(isEmpty()) throw new IllegalStateException("No events scheduled");
+		times[0] = time;
+		siftDown(0);
+	}
+
+	/**
+	 * Drops the earliest event.
+	 */
+	public void removeNext() {
+		if(isEmpty()) throw new IllegalStateException("No events scheduled");
+		size--;
+		times[0] = times[size];
+		machines[0] = machines[size];
+		siftDown(0);
+	}
+
+	/**
+	 * Whether the event at position a has to go before the one at position b.
+	 */
+	private boolean before(int a, int b) {
+		return times[a] < times[b] || (times[a] == times[b] && machines[a] < machines[b]);
+	}
+
+	private void swap(int a, int b) {
+		int time = times[a];
+		int machine = machines[a];
+		times[a] = times[b];
+		machines[a] = machines[b];
+		times[b] = time;
+		machines[b] = machine;
+	}
+
+	private void siftUp(int position) {
+		while(position > 0) {
+			int parent = (position - 1) / 2;
+			if(!before(position, parent)) return;
+			swap(position, parent);
+			position = parent;
+		}
+	}
+
+	private void siftDown(int position) {
+		while(true) {
+			int smallest = position;
+			int left = 2 * position + 1;
+			int right = left + 1;
+			if(left < size && before(left, smallest)) smallest = left;
+			if(right < size && before(right, smallest)) smallest = right;
+			if(smallest == position) return;
+			swap(position, smallest);
+			position = smallest;
+		}
+	}
+}
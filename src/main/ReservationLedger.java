@@ -0,0 +1,215 @@
+package main;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import data_structures.IntIntMap;
+import data_structures.IntObjectMap;
+
+/**
+ * Allocates parts to orders as they are made instead of waiting until a whole order can be fulfilled at once.
+ * -when an order is registered it takes what the inventory already has of each requested part, and whatever
+ * is still missing of each part becomes a line that waits for new parts.
+ * -every new part goes to the oldest line waiting for its id, and an order is fulfilled the moment its last line is complete.
+ * -the remaining quantity of every line and the number of open lines of every order live in int arrays, and the
+ * lines waiting for each part are a queue of line numbers, so allocating a part doesn't look at the order at all.
+ */
+public class ReservationLedger {
+
+	/**
+	 * Queue of line numbers stored in a circular int array.
+	 */
+	private static class LineQueue {
+		private int[] lines = new int[4];
+		private int front = 0;
+		private int size = 0;
+
+		public boolean isEmpty() {
+			return size == 0;
+		}
+
+		public void enqueue(int line) {
+			if (size == lines.length) {
+				int[] temp = new int[lines.length * 2];
+				for (int i = 0; i < size; i++) {
+					temp[i] = lines[(front + i) & (lines.length - 1)];
+				}
+				lines = temp;
+				front = 0;
+			}
+			lines[(front + size) & (lines.length - 1)] = line;
+			size++;
+		}
+
+		public int front() {
+			return lines[front];
+		}
+
+		public void dequeue() {
+			front = (front + 1) & (lines.length - 1);
+			size--;
+		}
+	}
+
+	// Per order: the order, its first line and how many of its lines still wait for parts
+	private Order[] orders;
+	private int[] firstLine;
+	private int[] openLines;
+	private int orderCount;
+	// Per line: the order it belongs to, its part id and how many parts it still needs
+	private int[] lineOrder;
+	private int[] linePart;
+	private int[] lineRemaining;
+	private int lineCount;
+	// Lines waiting for each part id, oldest first
+	private IntObjectMap<LineQueue> waitingLines;
+	private int fulfilledCount;
+
+	public ReservationLedger(int initialCapacity) {
+		int capacity = Math.max(1, initialCapacity);
+		this.orders = new Order[capacity];
+		this.firstLine = new int[capacity + 1];
+		this.openLines = new int[capacity];
+		this.lineOrder = new int[capacity];
+		this.linePart = new int[capacity];
+		this.lineRemaining = new int[capacity];
+		this.waitingLines = new IntObjectMap<LineQueue>(capacity);
+	}
+
+	/**
+	 * @return (int) orders registered so far
+	 */
+	public int getOrderCount() {
+		return orderCount;
+	}
+
+	/**
+	 * @return (int) registered orders that got all their parts
+	 */
+	public int getFulfilledCount() {
+		return fulfilledCount;
+	}
+
+	/**
+	 * @param row - position of the order, in the order they were registered
+	 * @return (Order) order registered in that position
+	 */
+	public Order getOrder(int row) {
+		return orders[row];
+	}
+
+	/**
+	 * @param row - position of the order, in the order they were registered
+	 * @return (int) parts the order is still waiting for, adding up all its parts
+	 */
+	public int getRemainingQuantity(int row) {
+		int remaining = 0;
+		for (int line = firstLine[row]; line < firstLine[row + 1]; line++) {
+			remaining += lineRemaining[line];
+		}
+		return remaining;
+	}
+
+	/**
+	 * @param row - position of the order, in the order they were registered
+	 * @param partId - id of a part requested by the order
+	 * @return (int) parts with that id the order is still waiting for, 0 if it doesn't request it
+	 */
+	public int getRemainingQuantity(int row, int partId) {
+		for (int line = firstLine[row]; line < firstLine[row + 1]; line++) {
+			if (linePart[line] == partId) return lineRemaining[line];
+		}
+		return 0;
+	}
+
+	/**
+	 * Adds an order to the ledger. It takes what inventory already has of its parts (they are removed from inventory)
+	 * and waits for the rest. It is fulfilled right away if nothing is missing, otherwise it is marked as pending.
+	 * @param order - new order
+	 * @param inventory - inventory the parts already made come from
+	 * @param removed - receives the parts taken from inventory
+	 * @return (int) position of the order in the ledger
+	 */
+	public int register(Order order, PartInventory inventory, Consumer<CarPart> removed) {
+		IntIntMap requested = IntIntMap.from(order.getRequestedParts());
+		int row = orderCount;
+		ensureOrderCapacity(row + 1);
+		ensureLineCapacity(lineCount + requested.size());
+		orders[row] = order;
+		firstLine[row] = lineCount;
+		int open = 0;
+		for (int slot = requested.nextSlot(0); slot != -1; slot = requested.nextSlot(slot + 1)) {
+			int partId = requested.keyAt(slot);
+			int quantity = requested.valueAt(slot);
+			int taken = inventory.hasPartType(partId) ? Math.min(quantity, inventory.count(partId)) : 0;
+			if (taken > 0) {
+				inventory.removeFirst(partId, taken, removed);
+			}
+			int line = lineCount++;
+			lineOrder[line] = row;
+			linePart[line] = partId;
+			lineRemaining[line] = quantity - taken;
+			if (quantity > taken) {
+				open++;
+				LineQueue lines = waitingLines.get(partId);
+				if (lines == null) {
+					lines = new LineQueue();
+					waitingLines.put(partId, lines);
+				}
+				lines.enqueue(line);
+			}
+		}
+		orderCount++;
+		firstLine[orderCount] = lineCount;
+		openLines[row] = open;
+		if (open == 0) {
+			fulfill(row);
+		}
+		else {
+			order.setFulfilled(false);
+		}
+		return row;
+	}
+
+	/**
+	 * Gives a new part to the oldest order waiting for its id, if there is one.
+	 * @param part - part that was just made
+	 * @return (boolean) true if an order took the part, false if no order is waiting for it
+	 */
+	public boolean allocate(CarPart part) {
+		LineQueue lines = waitingLines.get(part.getId());
+		if (lines == null || lines.isEmpty()) {
+			return false;
+		}
+		int line = lines.front();
+		if (--lineRemaining[line] == 0) {
+			lines.dequeue();
+			int row = lineOrder[line];
+			if (--openLines[row] == 0) {
+				fulfill(row);
+			}
+		}
+		return true;
+	}
+
+	private void fulfill(int row) {
+		orders[row].setFulfilled(true);
+		fulfilledCount++;
+	}
+
+	private void ensureOrderCapacity(int capacity) {
+		if (capacity <= orders.length) return;
+		int newLength = Math.max(capacity, orders.length * 2);
+		orders = Arrays.copyOf(orders, newLength);
+		firstLine = Arrays.copyOf(firstLine, newLength + 1);
+		openLines = Arrays.copyOf(openLines, newLength);
+	}
+
+	private void ensureLineCapacity(int capacity) {
+		if (capacity <= lineOrder.length) return;
+		int newLength = Math.max(capacity, lineOrder.length * 2);
+		lineOrder = Arrays.copyOf(lineOrder, newLength);
+		linePart = Arrays.copyOf(linePart, newLength);
+		lineRemaining = Arrays.copyOf(lineRemaining, newLength);
+	}
+}
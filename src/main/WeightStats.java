@@ -0,0 +1,81 @@
+package main;
+
+/**
+ * Running statistics of a stream of weights: count, min, max, mean and variance.
+ * The values themselves are not kept, the mean and variance are updated with Welford's method,
+ * which stays accurate even after millions of values.
+ */
+public class WeightStats {
+
+	private long count;
+	private double min;
+	private double max;
+	private double mean;
+	// Sum of the squared distances to the mean
+	private double squaredDistances;
+
+	public WeightStats() {
+		this.count = 0;
+		this.min = Double.NaN;
+		this.max = Double.NaN;
+		this.mean = Double.NaN;
+		this.squaredDistances = 0;
+	}
+
+	/**
+	 * Adds a weight to the statistics.
+	 * @param weight - new value
+	 */
+	public void add(double weight) {
+		count++;
+		if (count == 1) {
+			min = weight;
+			max = weight;
+			mean = weight;
+			return;
+		}
+		min = Math.min(min, weight);
+		max = Math.max(max, weight);
+		double delta = weight - mean;
+		mean += delta / count;
+		squaredDistances += delta * (weight - mean);
+	}
+
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * @return (double) smallest weight, NaN if there are none
+	 */
+	public double getMin() {
+		return this.min;
+	}
+
+	/**
+	 * @return (double) largest weight, NaN if there are none
+	 */
+	public double getMax() {
+		return this.max;
+	}
+
+	/**
+	 * @return (double) mean of the weights, NaN if there are none
+	 */
+	public double getMean() {
+		return this.mean;
+	}
+
+	/**
+	 * Population variance of the weights.
+	 * @return (double) variance, NaN if there are none
+	 */
+	public double getVariance() {
+		return count == 0 ? Double.NaN : squaredDistances / count;
+	}
+
+	@Override
+	public String toString() {
+		return "count " + getCount() + " min " + getMin() + " max " + getMax() + " mean " + getMean() + " variance " + getVariance();
+	}
+}
@@ -5,22 +5,49 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import data_structures.ArrayList;
+import data_structures.ArrayRingQueue;
+import data_structures.ArrayStack;
 import data_structures.BasicHashFunction;
+import data_structures.ConcurrentHashTableSC;
+import data_structures.DoublyLinkedList;
+import data_structures.HashTableOA;
 import data_structures.HashTableSC;
+import data_structures.HeapPriorityQueue;
+import data_structures.IntIntMap;
+import data_structures.IntObjectMap;
+import data_structures.MPSCQueue;
+import data_structures.ObjectPool;
+import data_structures.PoolCache;
+import data_structures.SinglyLinkedList;
+import interfaces.Entry;
 import interfaces.List;
 import interfaces.Map;
 import interfaces.Stack;
 import main.CarPart;
 import main.CarPartFactory;
+import main.CountingInventory;
+import main.InventoryMode;
+import main.ListInventory;
 import main.Order;
+import main.OrderPriority;
 import main.PartMachine;
+import main.ReservationLedger;
+import main.WeightStats;
 
 public class StudentTester {
 
@@ -237,7 +264,503 @@ public class StudentTester {
                 () -> assertTrue(part3.isDefective(), "Tenth part would be defective with a 0.2 chance")
             );
         }
+        @Test
+        @DisplayName("Testing parts produced by PartMachine share the PartType of the machine's part")
+        public void test9() {
+            part = new CarPart(9, "Transmission", 15.0, false);
+            machine1 = new PartMachine(1, part, 1, 1.2, 5);
+            part2 = machine1.makePart();
+            part3 = machine1.makePart();
+            assertAll(
+                () -> assertTrue(part2.getType() == part.getType(), "Didn't share the part type"),
+                () -> assertTrue(part3.getType() == part.getType(), "Didn't share the part type"),
+                () -> assertEquals(9, part2.getId(), "Didn't assign correct id to parts."),
+                () -> assertEquals("Transmission", part2.getName(), "Didn't give correct name.")
+            );
+            part3.setName("Gearbox");
+            assertAll(
+                () -> assertEquals("Gearbox", part3.getName(), "Didn't change the name"),
+                () -> assertEquals("Transmission", part2.getName(), "Changed the name of another part")
+            );
+        }
+        @Test
+        @DisplayName("Testing produceBatch gives the same parts as produceCarPart")
+        public void test8() {
+            part = new CarPart(9, "Transmission", 15.0, true);
+            for (int minutes : new int[] {0, 3, 10, 17, 100}) {
+                PartMachine perMinute = new PartMachine(1, part, 3, 1.2, 4);
+                PartMachine batch = new PartMachine(1, part, 3, 1.2, 4);
+                for (int day = 0; day < 3; day++) {
+                    String expected = "";
+                    for (int i = 0; i < minutes; i++) {
+                        CarPart produced = perMinute.produceCarPart();
+                        if (produced != null) expected += produced.isDefective() ? "D" : "P";
+                    }
+                    String[] actual = {""};
+                    int predicted = batch.partsMadeIn(minutes);
+                    int made = batch.produceBatch(minutes, p -> actual[0] += p.isDefective() ? "D" : "P");
+                    assertEquals(expected, actual[0], "Didn't give the same parts after " + minutes + " minutes");
+                    assertEquals(predicted, made, "Didn't predict parts made");
+                    assertEquals(perMinute.getTotalPartsProduced(), batch.getTotalPartsProduced(), "Didn't count parts made");
+                    assertEquals(perMinute.getTimer().front(), batch.getTimer().front(), "Didn't move timer");
+                    for (int i = 0; i < 10; i++) {
+                        if ((perMinute.getConveyorBelt().front() == null) != (batch.getConveyorBelt().front() == null))
+                            fail("Didn't leave the same conveyor belt");
+                        perMinute.getConveyorBelt().enqueue(perMinute.getConveyorBelt().dequeue());
+                        batch.getConveyorBelt().enqueue(batch.getConveyorBelt().dequeue());
+                    }
+                }
+            }
+        }
+    }
+    @Nested
+    @DisplayName("ArrayRingQueue Tests")
+    public class TestArrayRingQueue {
+        @Test
+        @DisplayName("Testing the values wrap around the array and keep their order when it grows")
+        public void test1() {
+            ArrayRingQueue<Integer> queue = new ArrayRingQueue<Integer>(4);
+            int next = 0;
+            int expected = 0;
+            // Moves the front to the middle of the array so the values wrap around
+            for (int i = 0; i < 3; i++) {
+                queue.enqueue(next++);
+            }
+            for (int i = 0; i < 2; i++) {
+                assertEquals(expected++, queue.dequeue(), "Didn't dequeue in FIFO order.");
+            }
+            // Fills the wrapped array and makes it grow twice
+            for (int i = 0; i < 14; i++) {
+                queue.enqueue(next++);
+            }
+            assertEquals(15, queue.size(), "Has wrong size after growing.");
+            assertEquals(expected, queue.front(), "Lost the front after growing.");
+            while (!queue.isEmpty()) {
+                assertEquals(expected++, queue.dequeue(), "Didn't keep the order after growing.");
+            }
+            assertEquals(next, expected, "Lost values.");
+            queue.enqueue(null);
+            assertEquals(1, queue.size(), "Didn't accept a null value.");
+        }
+    }
+    @Nested
+    @DisplayName("ArrayStack Tests")
+    public class TestArrayStack {
+        @Test
+        @DisplayName("Testing the stack grows and drainTo empties it from the top")
+        public void test1() {
+            ArrayStack<Integer> stack = new ArrayStack<Integer>(2);
+            for (int i = 0; i < 10; i++) {
+                stack.push(i);
+            }
+            assertEquals(10, stack.size(), "Has wrong size after growing.");
+            assertEquals(9, stack.pop(), "Didn't pop the top.");
+            List<Integer> drained = new ArrayList<Integer>();
+            stack.drainTo(drained::add);
+            assertAll(
+                () -> assertTrue(stack.isEmpty(), "Didn't empty the stack."),
+                () -> assertEquals(9, drained.size(), "Didn't drain every value."),
+                () -> assertEquals(8, drained.first(), "Didn't start from the top."),
+                () -> assertEquals(0, drained.last(), "Didn't end at the bottom.")
+            );
+            stack.push(5);
+            stack.push(6);
+            stack.clear();
+            assertTrue(stack.isEmpty(), "Didn't clear the stack.");
+            stack.push(7);
+            assertEquals(7, stack.top(), "Can't push after clearing.");
+        }
+    }
+    @Nested
+    @DisplayName("HashTableOA Tests")
+    public class TestHashTableOA {
+        @Test
+        @DisplayName("Testing put, get and remove while the table grows")
+        public void test1() {
+            Map<Integer, Integer> map = new HashTableOA<>(1, new BasicHashFunction());
+            for (int i = 0; i < 1000; i++) {
+                map.put(i * 16, i);
+            }
+            for (int i = 0; i < 1000; i += 2) {
+                map.remove(i * 16);
+            }
+            assertEquals(500, map.size(), "Has wrong size after removing half of the keys.");
+            for (int i = 0; i < 1000; i++) {
+                if (i % 2 == 0 && map.containsKey(i * 16))
+                    fail("Removed key is still present.");
+                else if (i % 2 != 0 && map.get(i * 16) != i)
+                    fail("Lost a key after removing its neighbours.");
+            }
+            assertEquals(999, map.put(999 * 16, -1), "Didn't return the replaced value.");
+        }
+    }
+    @Nested
+    @DisplayName("Map entry iteration Tests")
+    public class TestMapEntries {
+        private void checkEntries(Map<Integer, Integer> map) {
+            for (int i = 0; i < 100; i++) {
+                map.put(i, i * 3);
+            }
+            map.remove(50);
+            int[] count = {0};
+            long[] sum = {0};
+            Iterator<Entry<Integer, Integer>> entries = map.entryIterator();
+            while (entries.hasNext()) {
+                Entry<Integer, Integer> entry = entries.next();
+                assertEquals(entry.getKey() * 3, entry.getValue(), "Returned a value with the wrong key.");
+                count[0]++;
+                sum[0] += entry.getKey();
+            }
+            assertEquals(99, count[0], "Didn't iterate over every entry.");
+            assertEquals(4950 - 50, sum[0], "Didn't iterate over the right keys.");
+            count[0] = 0;
+            sum[0] = 0;
+            map.forEach((key, value) -> {
+                assertEquals(key * 3, value, "Gave a value with the wrong key.");
+                count[0]++;
+                sum[0] += value;
+            });
+            assertEquals(99, count[0], "forEach didn't visit every entry.");
+            assertEquals(3 * (4950 - 50), sum[0], "forEach didn't visit the right values.");
+        }
+        
+        @Test
+        @DisplayName("Testing entryIterator and forEach visit every entry of every Map")
+        public void test1() {
+            checkEntries(new HashTableOA<Integer, Integer>(4, new BasicHashFunction()));
+            checkEntries(new HashTableSC<Integer, Integer>(4, new BasicHashFunction()));
+            checkEntries(new HashTableSC<Integer, Integer>(4, new BasicHashFunction(), true));
+            checkEntries(new ConcurrentHashTableSC<Integer, Integer>(4, new BasicHashFunction(), 2));
+            checkEntries(new IntIntMap(4));
+            checkEntries(new IntObjectMap<Integer>(4));
+        }
+        
+        @Test
+        @DisplayName("Testing the open addressing maps reuse the Entry between calls to next")
+        public void test2() {
+            Map<Integer, Integer> map = new HashTableOA<Integer, Integer>(4, new BasicHashFunction());
+            map.put(1, 10);
+            map.put(2, 20);
+            Iterator<Entry<Integer, Integer>> entries = map.entryIterator();
+            Entry<Integer, Integer> first = entries.next();
+            int firstKey = first.getKey();
+            Entry<Integer, Integer> second = entries.next();
+            assertAll(
+                () -> assertTrue(first == second, "Didn't reuse the Entry."),
+                () -> assertTrue(first.getKey() != firstKey, "A kept Entry didn't move to the next key."),
+                () -> assertEquals(3, firstKey + second.getKey(), "Didn't return both keys.")
+            );
+        }
+    }
+    @Nested
+    @DisplayName("IntIntMap Tests")
+    public class TestIntIntMap {
+        @Test
+        @DisplayName("Testing put, increment and remove while the table grows")
+        public void test1() {
+            IntIntMap map = new IntIntMap(1);
+            for (int i = 0; i < 1000; i++) {
+                map.put(i * 16, i);
+                map.increment(i * 16, 1);
+            }
+            for (int i = 0; i < 1000; i += 2) {
+                assertEquals(i + 1, map.remove(i * 16), "Didn't return the removed value.");
+            }
+            assertEquals(500, map.size(), "Has wrong size after removing half of the keys.");
+            for (int i = 0; i < 1000; i++) {
+                if (i % 2 == 0 && map.containsKey(i * 16))
+                    fail("Removed key is still present.");
+                else if (i % 2 != 0 && map.get(i * 16) != i + 1)
+                    fail("Lost a key after removing its neighbours.");
+            }
+            assertEquals(0, map.get(-5), "Didn't return 0 for a missing key.");
+            assertEquals(3, map.increment(-5, 3), "Didn't start a missing key at 0.");
+        }
+        
+        @Test
+        @DisplayName("Testing from keeps an IntIntMap and copies any other map")
+        public void test2() {
+            IntIntMap map = new IntIntMap(4);
+            assertTrue(IntIntMap.from(map) == map, "Copied a map that already was an IntIntMap.");
+            Map<Integer, Integer> other = new HashTableSC<Integer, Integer>(4, new BasicHashFunction());
+            other.put(1, 10);
+            other.put(2, 20);
+            IntIntMap copy = IntIntMap.from(other);
+            other.put(3, 30);
+            assertAll(
+                () -> assertEquals(2, copy.size(), "Saw a change made after copying."),
+                () -> assertEquals(20, copy.get(2), "Didn't copy the values.")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing setDefectives copies maps that are not an IntIntMap")
+        public void test3() throws IOException {
+            CarPartFactory factory = new CarPartFactory("input/orders.csv", "input/parts.csv");
+            IntIntMap counts = new IntIntMap(4);
+            factory.setDefectives(counts);
+            counts.put(1, 5);
+            assertEquals(5, factory.getDefectives().get(1), "Didn't use the IntIntMap directly.");
+            Map<Integer, Integer> other = new HashTableSC<Integer, Integer>(4, new BasicHashFunction());
+            factory.setDefectives(other);
+            other.put(1, 7);
+            assertTrue(!factory.getDefectives().containsKey(1), "Saw a change made after copying.");
+        }
+    }
+    @Nested
+    @DisplayName("IntObjectMap Tests")
+    public class TestIntObjectMap {
+        @Test
+        @DisplayName("Testing put, get and remove while the table grows")
+        public void test1() {
+            IntObjectMap<String> map = new IntObjectMap<String>(1);
+            for (int i = 0; i < 1000; i++) {
+                map.put(i * 16, "v" + i);
+            }
+            for (int i = 0; i < 1000; i += 2) {
+                assertEquals("v" + i, map.remove(i * 16), "Didn't return the removed value.");
+            }
+            assertEquals(500, map.size(), "Has wrong size after removing half of the keys.");
+            for (int i = 0; i < 1000; i++) {
+                if (i % 2 == 0 && map.containsKey(i * 16))
+                    fail("Removed key is still present.");
+                else if (i % 2 != 0 && !map.get(i * 16).equals("v" + i))
+                    fail("Lost a key after removing its neighbours.");
+            }
+            assertEquals("v1", map.put(16, "new"), "Didn't return the replaced value.");
+            assertTrue(map.get(-1) == null, "Found a key that was never added.");
+        }
+        
+        @Test
+        @DisplayName("Testing from keeps an IntObjectMap and copies any other map")
+        public void test2() {
+            IntObjectMap<String> map = new IntObjectMap<String>(4);
+            assertTrue(IntObjectMap.from(map) == map, "Copied a map that already was an IntObjectMap.");
+            Map<Integer, String> other = new HashTableSC<Integer, String>(4, new BasicHashFunction());
+            other.put(1, "a");
+            IntObjectMap<String> copy = IntObjectMap.from(other);
+            other.put(2, "b");
+            assertAll(
+                () -> assertEquals(1, copy.size(), "Saw a change made after copying."),
+                () -> assertEquals("a", copy.get(1), "Didn't copy the values.")
+            );
+        }
+    }
+    @Nested
+    @DisplayName("HashTableSC Tests")
+    public class TestHashTableSC {
+        @Test
+        @DisplayName("Testing incremental rehash keeps every entry reachable")
+        public void test1() {
+            Map<Integer, Integer> map = new HashTableSC<>(1, new BasicHashFunction(), true);
+            for (int i = 0; i < 1000; i++) {
+                map.put(i, i * 2);
+                if (map.get(i / 2) != (i / 2) * 2)
+                    fail("Lost a key while the table was being rehashed.");
+            }
+            for (int i = 0; i < 1000; i += 3) {
+                map.remove(i);
+            }
+            assertEquals(666, map.size(), "Has wrong size after removing keys.");
+            assertEquals(666, map.getKeys().size(), "Didn't return every key.");
+            for (int i = 0; i < 1000; i++) {
+                if (map.containsKey(i) == (i % 3 == 0))
+                    fail("Has wrong keys after removing.");
+            }
+        }
+    }
+    @Nested
+    @DisplayName("ConcurrentHashTableSC Tests")
+    public class TestConcurrentHashTableSC {
+        @Test
+        @DisplayName("Testing merge from several threads doesn't lose updates")
+        public void test1() throws InterruptedException {
+            ConcurrentHashTableSC<Integer, Integer> counts = new ConcurrentHashTableSC<>(1, new BasicHashFunction(), 4);
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        counts.merge(i % 20, 1, Integer::sum);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(20, counts.size(), "Has wrong number of keys.");
+            for (int key = 0; key < 20; key++) {
+                assertEquals(2000, counts.get(key), "Lost an update for key " + key + ".");
+            }
+        }
+    }
+    @Nested
+    @DisplayName("MPSCQueue Tests")
+    public class TestMPSCQueue {
+        @Test
+        @DisplayName("Testing a single producer gets FIFO order")
+        public void test1() {
+            MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+            for (int i = 0; i < 10; i++) {
+                queue.enqueue(i);
+            }
+            assertEquals(10, queue.size(), "Has wrong size.");
+            assertEquals(0, queue.front(), "Didn't keep the front.");
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, queue.dequeue(), "Didn't dequeue in FIFO order.");
+            }
+            assertTrue(queue.poll() == null, "Returned a value from an empty queue.");
+        }
+        
+        @Test
+        @DisplayName("Testing several producers don't lose values and keep their own order")
+        public void test2() throws InterruptedException {
+            MPSCQueue<Integer> queue = new MPSCQueue<Integer>();
+            int producers = 4;
+            int perProducer = 20000;
+            Thread[] threads = new Thread[producers];
+            for (int t = 0; t < producers; t++) {
+                int producer = t;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.enqueue(producer * perProducer + i);
+                    }
+                });
+                threads[t].start();
+            }
+            // Consumes while the producers are still running
+            int[] last = {-1, -1, -1, -1};
+            int received = 0;
+            while (received < producers * perProducer) {
+                Integer value = queue.poll();
+                if (value == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                int producer = value / perProducer;
+                assertTrue(value % perProducer > last[producer], "Didn't keep the order of producer " + producer + ".");
+                last[producer] = value % perProducer;
+                received++;
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertTrue(queue.isEmpty(), "Received more values than were enqueued.");
+            for (int t = 0; t < producers; t++) {
+                assertEquals(perProducer - 1, last[t], "Lost values of producer " + t + ".");
+            }
+        }
+    }
+    @Nested
+    @DisplayName("PoolCache Tests")
+    public class TestPoolCache {
+        @Test
+        @DisplayName("Testing objects released through one cache are acquired through another")
+        public void test1() {
+            ObjectPool<int[]> pool = new ObjectPool<int[]>(100, () -> new int[1]);
+            PoolCache<int[]> producer = new PoolCache<int[]>(pool, 4);
+            PoolCache<int[]> consumer = new PoolCache<int[]>(pool, 4);
+            int[][] made = new int[10][];
+            for (int i = 0; i < 10; i++) {
+                made[i] = producer.acquire();
+            }
+            assertEquals(12, pool.getMisses(), "Didn't create whole batches.");
+            assertEquals(2, producer.size(), "Didn't keep the rest of the last batch.");
+            for (int[] obj : made) {
+                consumer.release(obj);
+            }
+            assertEquals(4, pool.size(), "Didn't give back a batch once the cache was full.");
+            assertEquals(6, consumer.size(), "Didn't keep the newest objects.");
+            consumer.flush();
+            assertEquals(10, pool.size(), "Didn't give back everything on flush.");
+            for (int i = 0; i < 4; i++) {
+                producer.acquire();
+            }
+            assertEquals(4, pool.getHits(), "Didn't reuse a batch once the cache was empty.");
+        }
+    }
+    @Nested
+    @DisplayName("List bulk operation Tests")
+    public class TestListBulkOperations {
+        @Test
+        @DisplayName("Testing addAll, removeFirst and removeRange on every List")
+        public void testBulkOperations() {
+            List<List<Integer>> lists = new ArrayList<List<Integer>>();
+            lists.add(new ArrayList<Integer>(2));
+            lists.add(new SinglyLinkedList<Integer>());
+            lists.add(new DoublyLinkedList<Integer>());
+            for (List<Integer> list : lists) {
+                for (int i = 0; i < 5; i++) {
+                    list.add(i);
+                }
+                list.addAll(list);
+                assertEquals(10, list.size(), "Didn't add every value");
+                assertEquals(4, list.get(9), "Didn't add the values in order");
+                list.removeFirst(3);
+                assertEquals(3, list.first(), "Didn't remove the first values");
+                list.removeRange(1, 4);
+                assertEquals(4, list.size(), "Didn't remove the range");
+                assertEquals(3, list.get(0), "Removed values before the range");
+                assertEquals(2, list.get(1), "Didn't remove the range");
+                list.removeRange(2, 4);
+                assertEquals(2, list.last(), "Didn't remove the range at the end");
+                list.removeFirst(list.size());
+                assertTrue(list.isEmpty(), "Didn't remove every value");
+                list.add(7);
+                assertEquals(7, list.last(), "Can't add after removing every value");
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing add appends after the last value is removed or inserted")
+        public void testLastValue() {
+            List<List<Integer>> lists = new ArrayList<List<Integer>>();
+            lists.add(new ArrayList<Integer>(2));
+            lists.add(new SinglyLinkedList<Integer>());
+            lists.add(new DoublyLinkedList<Integer>());
+            for (List<Integer> list : lists) {
+                for (int i = 0; i < 4; i++) {
+                    list.add(i);
+                }
+                list.remove(3);
+                list.add(4);
+                assertEquals(4, list.get(3), "Didn't add after removing the last position");
+                list.remove((Integer) 4);
+                list.add(5);
+                assertEquals(5, list.last(), "Didn't add after removing the last value");
+                list.add(0, 1);
+                list.removeAll(5);
+                list.add(6);
+                assertEquals(6, list.get(4), "Didn't add after removing every copy of the last value");
+                list.add(list.size(), 8);
+                list.add(9);
+                assertEquals(9, list.last(), "Didn't add after inserting at the end");
+                assertEquals(7, list.size(), "Has wrong size");
+            }
+        }
+    }
+    
+    @Nested
+    @DisplayName("HeapPriorityQueue Tests")
+    public class TestHeapPriorityQueue {
+        @Test
+        @DisplayName("Testing values leave in priority order")
+        public void testOrder() {
+            HeapPriorityQueue<Integer> queue = new HeapPriorityQueue<Integer>(2, Integer::compare);
+            int[] values = {5, 3, 9, 1, 7, 3, 8, 2, 6, 0, 4};
+            for (int value : values) {
+                queue.insert(value);
+            }
+            assertEquals(values.length, queue.size(), "Didn't count the values");
+            assertEquals(0, queue.min(), "Didn't return the smallest value");
+            int[] expected = {0, 1, 2, 3, 3, 4, 5, 6, 7, 8, 9};
+            for (int value : expected) {
+                assertEquals(value, queue.removeMin(), "Didn't remove the values in order");
+            }
+            assertTrue(queue.isEmpty(), "Didn't remove every value");
+        }
     }
+    
     @Nested
     @DisplayName("CarFactory Tests")
     public class TestCarPartFactory {
@@ -270,6 +793,509 @@ public class StudentTester {
             );
         }
         
+        /**
+         * Checks that actual made, stored and used as many parts as expected and fulfilled the same orders.
+         */
+        private void assertSameCounts(CarPartFactory expected, CarPartFactory actual) {
+            List<PartMachine> actualMachines = actual.getMachines();
+            int index = 0;
+            for (PartMachine machine : expected.getMachines()) {
+                int id = machine.getId();
+                assertEquals(machine.getTotalPartsProduced(), actualMachines.get(index++).getTotalPartsProduced(), "Didn't make the same number of parts");
+                assertEquals(expected.getDefectives().get(id), actual.getDefectives().get(id), "Didn't find the same defective parts");
+                assertEquals(expected.getInventory().get(id).size(), actual.getInventory().get(id).size(), "Didn't store the same number of parts");
+            }
+            for (int i = 0; i < expected.getOrders().size(); i++) {
+                assertEquals(expected.getOrders().get(i).isFulfilled(), actual.getOrders().get(i).isFulfilled(), "Didn't fulfill the same orders");
+            }
+        }
+        
+        /**
+         * Same as assertSameCounts, and also checks that the inventory holds the same parts in the same order.
+         */
+        private void assertSameRun(CarPartFactory expected, CarPartFactory actual) {
+            assertSameCounts(expected, actual);
+            for (PartMachine machine : expected.getMachines()) {
+                List<CarPart> expectedParts = expected.getInventory().get(machine.getId());
+                List<CarPart> actualParts = actual.getInventory().get(machine.getId());
+                for (int i = 0; i < expectedParts.size(); i++) {
+                    assertEquals(expectedParts.get(i).getWeight(), actualParts.get(i).getWeight(), "Didn't store the same weights");
+                }
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing the event driven run makes the same parts as runFactory")
+        public void testEventDriven() throws IOException {
+            CarPartFactory expected = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory actual = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            expected.runFactory(3, 200);
+            actual.runFactoryEventDriven(3, 200);
+            assertSameRun(expected, actual);
+        }
+        
+        @Test
+        @DisplayName("Testing the parallel run matches runFactory for any number of threads")
+        public void testParallel() throws IOException {
+            CarPartFactory expected = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            expected.runFactory(3, 200);
+            for (int parallelism : new int[] {1, 4}) {
+                CarPartFactory actual = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+                actual.runFactoryParallel(3, 200, parallelism);
+                assertSameRun(expected, actual);
+            }
+            try {
+                factory.runFactoryParallel(1, 60, 0);
+                fail("Ran without threads");
+            } catch (IllegalArgumentException e) {
+                // Expected
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing the thread per machine run makes as many parts as runFactory")
+        public void testThreadPerMachine() throws IOException {
+            CarPartFactory expected = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory actual = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            expected.runFactory(3, 200);
+            actual.runFactoryThreadPerMachine(3, 200);
+            // The parts of a day are stored in the order they were made instead of from the top of a bin
+            assertSameCounts(expected, actual);
+        }
+        
+        @Test
+        @DisplayName("Testing the thread per machine run ends when a machine fails")
+        public void testThreadPerMachineFailure() throws InterruptedException {
+            addBrokenMachine();
+            Throwable[] thrown = {null};
+            Thread run = new Thread(() -> {
+                try {
+                    factory.runFactoryThreadPerMachine(5, 60);
+                } catch (IllegalStateException e) {
+                    thrown[0] = e;
+                }
+            });
+            run.start();
+            run.join(10000);
+            assertTrue(!run.isAlive(), "The run never ended after a machine failed");
+            assertTrue(thrown[0] != null && thrown[0].getCause() != null, "Didn't report the failure");
+            assertEquals("Broken machine", thrown[0].getCause().getMessage(), "Didn't report the first failure");
+        }
+        
+        /**
+         * Adds machine 99 to factory, which fails on its second day, while the other machines are running or
+         * waiting for the end of the day.
+         */
+        private void addBrokenMachine() {
+            List<PartMachine> machines = new SinglyLinkedList<PartMachine>();
+            for (PartMachine machine : factory.getMachines()) {
+                machines.add(machine);
+            }
+            machines.add(new PartMachine(99, new CarPart(99, "Broken", 1, false), 1, 0, 5) {
+                private int days = 0;
+                
+                @Override
+                public int produceBatch(int minutes, Consumer<CarPart> sink) {
+                    if (++days == 2) throw new IllegalStateException("Broken machine");
+                    return super.produceBatch(minutes, sink);
+                }
+            });
+            factory.setMachines(machines);
+            factory.getPartInventory().addPartType(99);
+        }
+        
+        @Test
+        @DisplayName("Testing the pipelined run stops storing before a machine failure is thrown")
+        public void testPipelinedFailure() {
+            addBrokenMachine();
+            try {
+                factory.runFactoryPipelined(5, 60);
+                fail("Didn't report the failure");
+            } catch (IllegalStateException e) {
+                assertEquals("Broken machine", e.getMessage(), "Didn't report the machine failure");
+            }
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                assertTrue(!thread.getName().equals("inventory"), "Left the storing thread running");
+            }
+            assertEquals(storedParts(factory, 99), factory.getPartInventory().count(99), "Didn't store the whole first day");
+        }
+        
+        @Test
+        @DisplayName("Testing the pipelined run matches runFactory")
+        public void testPipelined() throws IOException {
+            CarPartFactory expected = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory actual = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            expected.runFactory(4, 200);
+            actual.runFactoryPipelined(4, 200);
+            assertSameRun(expected, actual);
+        }
+        
+        @Test
+        @DisplayName("Testing seeded factories make the same parts in every run mode")
+        public void testSeed() throws IOException {
+            CarPartFactory sequential = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory parallel = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            sequential.runFactory(2, 60);
+            parallel.runFactoryParallel(2, 60, 4);
+            for (PartMachine machine : sequential.getMachines()) {
+                List<CarPart> expected = sequential.getInventory().get(machine.getId());
+                List<CarPart> actual = parallel.getInventory().get(machine.getId());
+                assertEquals(expected.size(), actual.size(), "Didn't store the same number of parts");
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getWeight(), actual.get(i).getWeight(), "Didn't make the same weights");
+                }
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing the columnar inventory keeps the same parts as the lists")
+        public void testColumns() throws IOException {
+            CarPartFactory lists = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory columns = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            columns.setInventoryMode(InventoryMode.COLUMNS);
+            lists.runFactory(3, 200);
+            columns.runFactory(3, 200);
+            for (PartMachine machine : lists.getMachines()) {
+                List<CarPart> expected = lists.getInventory().get(machine.getId());
+                List<CarPart> actual = columns.getInventory().get(machine.getId());
+                assertEquals(expected.size(), actual.size(), "Didn't store the same number of parts");
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getWeight(), actual.get(i).getWeight(), "Didn't keep the same weights");
+                    assertEquals(expected.get(i).getName(), actual.get(i).getName(), "Didn't keep the same names");
+                }
+            }
+            for (int i = 0; i < lists.getOrders().size(); i++) {
+                assertEquals(lists.getOrders().get(i).isFulfilled(), columns.getOrders().get(i).isFulfilled(), "Didn't fulfill the same orders");
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing the counting inventory keeps the same counts as the lists")
+        public void testCounts() throws IOException {
+            CarPartFactory lists = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory counts = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            counts.setInventoryMode(InventoryMode.COUNTS);
+            lists.runFactory(3, 200);
+            counts.runFactory(3, 200);
+            CountingInventory inventory = (CountingInventory) counts.getPartInventory();
+            for (PartMachine machine : lists.getMachines()) {
+                int id = machine.getId();
+                WeightStats stats = inventory.getWeightStats(id);
+                assertEquals(lists.getInventory().get(id).size(), inventory.count(id), "Didn't keep the same count");
+                assertEquals(inventory.count(id), counts.getInventory().get(id).size(), "getInventory didn't show the count");
+                assertEquals(machine.getTotalPartsProduced() - lists.getDefectives().get(id), stats.getCount(), "Didn't add every stored part to the stats");
+                if (stats.getCount() > 0) {
+                    double error = machine.getPartWeightError();
+                    assertTrue(stats.getMin() >= machine.getPart().getWeight() - error && stats.getMax() <= machine.getPart().getWeight() + error, "Weights out of range");
+                    assertTrue(stats.getMin() <= stats.getMean() && stats.getMean() <= stats.getMax(), "Mean out of range");
+                    assertTrue(stats.getVariance() <= error * error, "Variance out of range");
+                }
+            }
+            for (int i = 0; i < lists.getOrders().size(); i++) {
+                assertEquals(lists.getOrders().get(i).isFulfilled(), counts.getOrders().get(i).isFulfilled(), "Didn't fulfill the same orders");
+            }
+            int size = counts.getInventory().size();
+            inventory.removeFirst(999, 0);
+            assertEquals(size, counts.getInventory().size(), "Removing nothing of an unknown id added it");
+        }
+        
+        @Test
+        @DisplayName("Testing pooling recycles parts and nodes without changing the results")
+        public void testPooling() throws IOException {
+            CarPartFactory plain = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory pooled = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            pooled.setPooling(true);
+            for (int run = 0; run < 2; run++) {
+                plain.runFactory(3, 200);
+                pooled.runFactory(3, 200);
+            }
+            for (PartMachine machine : plain.getMachines()) {
+                List<CarPart> expected = plain.getInventory().get(machine.getId());
+                List<CarPart> actual = pooled.getInventory().get(machine.getId());
+                assertEquals(expected.size(), actual.size(), "Didn't store the same number of parts");
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).getWeight(), actual.get(i).getWeight(), "Didn't keep the same weights");
+                    assertEquals(machine.getId(), actual.get(i).getId(), "Reused part has the wrong id");
+                }
+            }
+            ListInventory inventory = (ListInventory) pooled.getPartInventory();
+            assertAll(
+                () -> assertTrue(pooled.getPartPool().getHits() > 0, "Didn't reuse any part"),
+                () -> assertTrue(inventory.getNodeHits() > 0, "Didn't reuse any node")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing every part dropped by a run reaches the pool")
+        public void testPoolingFlush() throws IOException {
+            CarPartFactory pooled = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            pooled.setOrders(new SinglyLinkedList<Order>());
+            pooled.setPooling(true);
+            pooled.runFactory(1, 60);
+            int defectives = 0;
+            for (PartMachine machine : pooled.getMachines()) {
+                defectives += pooled.getDefectives().get(machine.getId());
+            }
+            assertTrue(defectives > 0, "No defective parts for the test");
+            assertEquals(defectives, pooled.getPartPool().size(), "Kept dropped parts out of the pool");
+        }
+        
+        @Test
+        @DisplayName("Testing the parallel runs reuse parts and still match runFactory")
+        public void testPoolingParallel() throws IOException {
+            CarPartFactory expected = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory parallel = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            CarPartFactory threads = new CarPartFactory("input/orders.csv", "input/parts.csv", 7);
+            parallel.setPooling(true);
+            threads.setPooling(true);
+            // The second run reuses the parts the first one gave back
+            for (int run = 0; run < 2; run++) {
+                expected.runFactory(3, 200);
+                parallel.runFactoryParallel(3, 200, 4);
+                threads.runFactoryThreadPerMachine(3, 200);
+            }
+            assertSameRun(expected, parallel);
+            assertSameCounts(expected, threads);
+            assertAll(
+                () -> assertTrue(parallel.getPartPool().getHits() > 0, "Parallel run didn't reuse any part"),
+                () -> assertTrue(threads.getPartPool().getHits() > 0, "Thread per machine run didn't reuse any part")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing processOrders removes exactly the requested parts")
+        public void testProcessOrdersRemovesRequested() {
+            factory.setOrders(new SinglyLinkedList<Order>());
+            factory.runFactory(1, 60);
+            int stock = factory.getInventory().get(1).size();
+            // More than half of the stock, which the first version of processOrders didn't fully remove
+            factory.submitOrder(CarPartFactory.parseOrder("1,Big,(1 " + (stock - 1) + ")"));
+            factory.processOrders();
+            assertAll(
+                () -> assertTrue(stock > 2, "Not enough parts for the test"),
+                () -> assertTrue(factory.getOrders().get(0).isFulfilled(), "Didn't fulfill the order"),
+                () -> assertEquals(1, factory.getInventory().get(1).size(), "Didn't remove exactly the requested parts")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing incremental order processing")
+        public void testIncremental() {
+            factory.runFactoryIncremental(5, 120);
+            int pending = 0;
+            Map<Integer, Integer> used = new HashTableSC<Integer, Integer>(20, new BasicHashFunction());
+            for (Order current : factory.getOrders()) {
+                if (!current.isFulfilled()) {
+                    pending++;
+                    assertTrue(!factory.checkFulfilled(current), "Left an order pending that could be fulfilled");
+                }
+                else {
+                    current.getRequestedParts().forEach((id, quantity) -> used.put(id, (used.containsKey(id) ? used.get(id) : 0) + quantity));
+                }
+            }
+            assertEquals(pending, factory.getPendingOrderCount(), "Didn't count the pending orders");
+            for (PartMachine machine : factory.getMachines()) {
+                int id = machine.getId();
+                int stored = machine.getTotalPartsProduced() - factory.getDefectives().get(id);
+                int expected = stored - (used.containsKey(id) ? used.get(id) : 0);
+                assertEquals(expected, factory.getInventory().get(id).size(), "Didn't remove the parts used by the orders");
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing the batch feasibility check agrees with checkFulfilled")
+        public void testFeasibleOrders() {
+            for (int day = 0; day < 4; day++) {
+                List<Order> feasible = factory.feasibleOrders();
+                int next = 0;
+                for (Order current : factory.getOrders()) {
+                    if (!current.isFulfilled() && factory.checkFulfilled(current)) {
+                        assertTrue(next < feasible.size() && feasible.get(next) == current, "Didn't find feasible order " + current.getId());
+                        next++;
+                    }
+                }
+                assertEquals(next, feasible.size(), "Found orders that are not feasible");
+                factory.runFactoryIncremental(1, 60);
+            }
+            // An order that is fulfilled and whose parts are still in stock is not feasible again
+            factory.setOrders(new SinglyLinkedList<Order>());
+            factory.submitOrder(CarPartFactory.parseOrder("1,First,(1 1)"));
+            factory.processOrders();
+            assertTrue(factory.getOrders().get(0).isFulfilled() && factory.checkFulfilled(factory.getOrders().get(0)), "Not enough parts for the test");
+            assertEquals(0, factory.feasibleOrders().size(), "Found an order that is already fulfilled");
+        }
+        
+        @Test
+        @DisplayName("Testing orders submitted while the factory runs")
+        public void testSubmitOrders() throws IOException {
+            factory.runFactoryIncremental(2, 60);
+            int before = factory.getOrders().size();
+            factory.submitOrder(CarPartFactory.parseOrder("1000,Late Customer,(1 1)"));
+            int submitted = factory.submitOrders(new BufferedReader(new StringReader("1001,Later Customer,(2 1)-(3 1)\n1002,Big Customer,(4 100000)\n")));
+            assertEquals(before, factory.getOrders().size(), "Added the orders before the end of the day");
+            factory.runFactoryIncremental(1, 60);
+            assertAll(
+                () -> assertEquals(2, submitted, "Didn't read every line"),
+                () -> assertEquals(before + 3, factory.getOrders().size(), "Didn't add the submitted orders"),
+                () -> assertEquals(1000, factory.getOrders().get(before).getId(), "Didn't keep the submission order"),
+                () -> assertEquals("Later Customer", factory.getOrders().get(before + 1).getCustomerName(), "Didn't parse the customer"),
+                () -> assertTrue(factory.getOrders().get(before).isFulfilled(), "Didn't fulfill the submitted order"),
+                () -> assertTrue(!factory.getOrders().get(before + 2).isFulfilled(), "Fulfilled an order without its parts")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing processOrders leaves fulfilled orders alone with any priority")
+        public void testProcessOrdersKeepsFulfilled() {
+            for (OrderPriority priority : new OrderPriority[] {OrderPriority.ARRIVAL, OrderPriority.SIZE}) {
+                factory.setOrders(new SinglyLinkedList<Order>());
+                factory.setOrderPriority(priority);
+                factory.runFactory(1, 60);
+                int stock = factory.getInventory().get(1).size();
+                factory.submitOrder(CarPartFactory.parseOrder("1,First,(1 1)"));
+                factory.processOrders();
+                factory.processOrders();
+                assertAll(
+                    () -> assertTrue(factory.getOrders().get(0).isFulfilled(), "Marked a fulfilled order as pending with " + priority),
+                    () -> assertEquals(stock - 1, factory.getInventory().get(1).size(), "Gave a fulfilled order its parts again with " + priority)
+                );
+            }
+        }
+        
+        /**
+         * Parts of partId stored in inventory so far, before any order took them.
+         */
+        private int storedParts(CarPartFactory factory, int partId) {
+            for (PartMachine machine : factory.getMachines()) {
+                if (machine.getId() == partId) {
+                    return machine.getTotalPartsProduced() - factory.getDefectives().get(partId);
+                }
+            }
+            return 0;
+        }
+        
+        @Test
+        @DisplayName("Testing the pending index doesn't fulfill an order processOrders already fulfilled")
+        public void testPendingAfterProcessOrders() {
+            factory.setOrders(new SinglyLinkedList<Order>());
+            factory.submitOrder(CarPartFactory.parseOrder("1,First,(1 2)"));
+            factory.processPendingOrders();
+            factory.runFactory(1, 60);
+            factory.processOrders();
+            factory.processPendingOrders();
+            assertAll(
+                () -> assertTrue(factory.getOrders().get(0).isFulfilled(), "Didn't fulfill the order"),
+                () -> assertEquals(storedParts(factory, 1) - 2, factory.getInventory().get(1).size(), "Didn't remove the parts exactly once"),
+                () -> assertEquals(0, factory.getPendingOrderCount(), "Kept counting a fulfilled order as pending")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing the pending index doesn't fulfill an order the reservations already fulfilled")
+        public void testPendingAfterReservations() {
+            factory.setOrders(new SinglyLinkedList<Order>());
+            factory.submitOrder(CarPartFactory.parseOrder("1,First,(1 2)"));
+            factory.processPendingOrders();
+            factory.reserveOrders();
+            factory.runFactory(1, 60);
+            factory.processPendingOrders();
+            assertAll(
+                () -> assertTrue(factory.getOrders().get(0).isFulfilled(), "Didn't fulfill the order"),
+                () -> assertEquals(1, factory.getReservationLedger().getFulfilledCount(), "The reservations didn't fulfill the order"),
+                () -> assertEquals(storedParts(factory, 1) - 2, factory.getInventory().get(1).size(), "Didn't use the parts exactly once"),
+                () -> assertEquals(0, factory.getPendingOrderCount(), "Kept counting a fulfilled order as pending")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing a line still being written is submitted once it is complete")
+        public void testSubmitOrdersPartialLine() throws IOException {
+            File file = File.createTempFile("orders", ".csv");
+            file.deleteOnExit();
+            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                append(file, "1001,Half");
+                assertEquals(0, factory.submitOrders(reader), "Submitted half a line");
+                append(file, " Customer,(2 1)\r");
+                assertEquals(1, factory.submitOrders(reader), "Didn't submit the completed line");
+                append(file, "\n1002,Next Customer,(3 1)\n");
+                assertEquals(1, factory.submitOrders(reader), "Didn't treat \\r\\n as one terminator");
+            }
+            factory.processOrders();
+            int count = factory.getOrders().size();
+            assertAll(
+                () -> assertEquals("Half Customer", factory.getOrders().get(count - 2).getCustomerName(), "Didn't join the two halves"),
+                () -> assertEquals(1002, factory.getOrders().get(count - 1).getId(), "Didn't submit the next line")
+            );
+        }
+        
+        private void append(File file, String text) throws IOException {
+            try (FileWriter out = new FileWriter(file, true)) {
+                out.write(text);
+            }
+        }
+        
+        @Test
+        @DisplayName("Testing orders competing for parts are fulfilled by priority")
+        public void testOrderPriority() {
+            factory.setOrders(new SinglyLinkedList<Order>());
+            factory.setOrderPriority(OrderPriority.TIER);
+            factory.runFactoryIncremental(1, 60);
+            int stock = factory.getInventory().get(1).size();
+            factory.submitOrder(CarPartFactory.parseOrder("1,Regular,(1 " + stock + ")"));
+            factory.submitOrder(CarPartFactory.parseOrder("2,Premium,(1 " + stock + "),,5"));
+            factory.submitOrder(CarPartFactory.parseOrder("3,Gold,(1 " + (stock + 1) + "),,9"));
+            factory.processPendingOrders();
+            assertAll(
+                () -> assertEquals(5, factory.getOrders().get(1).getTier(), "Didn't parse the tier"),
+                () -> assertTrue(!factory.getOrders().get(0).isFulfilled(), "Fulfilled the lower tier first"),
+                () -> assertTrue(factory.getOrders().get(1).isFulfilled(), "Didn't fulfill the higher tier"),
+                () -> assertTrue(!factory.getOrders().get(2).isFulfilled(), "Fulfilled an order without its parts"),
+                () -> assertEquals(0, factory.getInventory().get(1).size(), "Didn't use the parts")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing orders reserve parts as they are made")
+        public void testReservations() {
+            factory.setOrders(new SinglyLinkedList<Order>());
+            factory.runFactoryReserved(1, 60);
+            int stock = factory.getInventory().get(1).size();
+            factory.submitOrder(CarPartFactory.parseOrder("1,First,(1 " + (stock + 2) + ")-(2 0)"));
+            factory.submitOrder(CarPartFactory.parseOrder("2,Second,(1 1)"));
+            factory.reserveOrders();
+            ReservationLedger ledger = factory.getReservationLedger();
+            assertAll(
+                () -> assertEquals(0, factory.getInventory().get(1).size(), "Didn't take the parts already made"),
+                () -> assertEquals(2, ledger.getRemainingQuantity(0), "Didn't track the missing parts"),
+                () -> assertEquals(2, ledger.getRemainingQuantity(0, 1), "Didn't track the missing parts by id"),
+                () -> assertEquals(1, ledger.getRemainingQuantity(1), "Didn't track the second order"),
+                () -> assertTrue(!factory.getOrders().get(0).isFulfilled(), "Fulfilled an order without its parts")
+            );
+            factory.runFactoryReserved(1, 60);
+            assertAll(
+                () -> assertTrue(factory.getOrders().get(0).isFulfilled(), "Didn't fulfill the order with the new parts"),
+                () -> assertTrue(factory.getOrders().get(1).isFulfilled(), "Didn't give the later parts to the second order"),
+                () -> assertEquals(2, ledger.getFulfilledCount(), "Didn't count the fulfilled orders"),
+                () -> assertEquals(0, ledger.getRemainingQuantity(0), "Left parts missing in a fulfilled order")
+            );
+        }
+        
+        @Test
+        @DisplayName("Testing orders fulfilled before reserving don't take parts again")
+        public void testReservationsSkipFulfilled() {
+            factory.setOrders(new SinglyLinkedList<Order>());
+            factory.runFactory(1, 60);
+            factory.submitOrder(CarPartFactory.parseOrder("1,First,(1 1)"));
+            factory.processOrders();
+            int stock = factory.getInventory().get(1).size();
+            factory.reserveOrders();
+            assertAll(
+                () -> assertTrue(factory.getOrders().get(0).isFulfilled(), "Lost the fulfilled order"),
+                () -> assertEquals(0, factory.getReservationLedger().getOrderCount(), "Reserved parts for a fulfilled order"),
+                () -> assertEquals(stock, factory.getInventory().get(1).size(), "Gave a fulfilled order its parts again")
+            );
+        }
+        
         @Test
         @DisplayName("Testing the machines generated in the constructor")
         public void testMachines() {